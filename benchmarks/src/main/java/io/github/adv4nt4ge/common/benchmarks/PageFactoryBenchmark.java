@@ -0,0 +1,105 @@
+package io.github.adv4nt4ge.common.benchmarks;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import io.github.adv4nt4ge.common.Application;
+import io.github.adv4nt4ge.common.page.factory.ElementFieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.FieldBlueprint;
+import io.github.adv4nt4ge.common.page.factory.LocatorFactory;
+import io.github.adv4nt4ge.common.page.factory.PageBlueprint;
+import io.github.adv4nt4ge.common.page.factory.PageFactory;
+import io.github.adv4nt4ge.common.page.pageproducer.PageProducer;
+import io.github.adv4nt4ge.common.pages.BasePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the initialization of page objects against a {@link StubPage}.
+ * <p>
+ * The classes are generated by {@link SyntheticPages} for every combination of the parameters, and the blueprints of
+ * the classes are built during the setup, so the benchmarks measure the steady state of a test run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageFactoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fields;
+
+    @Param({"FLAT", "FRAME", "PARENT_4", "PARENT_32", "INHERITANCE_4", "INHERITANCE_16"})
+    public String shape;
+
+    @Param({"false", "true"})
+    public boolean generatedInitializers;
+
+    private Page page;
+    private Class<? extends BasePage> pageClass;
+    private BasePage pageObject;
+    private Field lastField;
+    private LocatorFactory locatorFactory;
+    private Application application;
+
+    @Setup
+    public void setUp() {
+        page = StubPage.create();
+        pageClass = SyntheticPages.compile(shape, fields, generatedInitializers);
+        pageObject = PageFactory.create(pageClass, page, new ElementFieldDecorator(page));
+        List<FieldBlueprint> blueprints = PageBlueprint.of(pageClass).getFields();
+        lastField = blueprints.get(blueprints.size() - 1).getField();
+        locatorFactory = new LocatorFactory(page);
+        application = new BenchmarkApplication(page);
+    }
+
+    @Benchmark
+    public Object create() {
+        return PageFactory.create(pageClass, page, new ElementFieldDecorator(page));
+    }
+
+    @Benchmark
+    public Object initElements() {
+        PageFactory.initElements(pageObject, new ElementFieldDecorator(page));
+        return pageObject;
+    }
+
+    @Benchmark
+    public Locator createLocator() {
+        return locatorFactory.createLocator(lastField, pageObject);
+    }
+
+    @Benchmark
+    public Object initPages() {
+        return application.getPages(pageClass);
+    }
+
+    /**
+     * Application creating its pages for the stub Page instead of the Page of the current test.
+     */
+    static class BenchmarkApplication extends Application {
+
+        BenchmarkApplication(Page page) {
+            pageProducer = new PageProducer(this, false) {
+                @Override
+                protected Page getPage() {
+                    return page;
+                }
+            };
+        }
+    }
+}
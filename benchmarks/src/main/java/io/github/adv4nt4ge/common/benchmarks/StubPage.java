@@ -0,0 +1,79 @@
+package io.github.adv4nt4ge.common.benchmarks;
+
+import com.microsoft.playwright.FrameLocator;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * In-memory Page for the benchmarks, so no driver or browser is needed.
+ * <p>
+ * Every method returning a Page, FrameLocator or Locator returns a shared stub of that type, lists are empty and
+ * other values are zero, false or null. The stubs allocate nothing, so the measured allocations are the ones of the
+ * page factory.
+ */
+public final class StubPage {
+    private static final Page PAGE = stub(Page.class);
+    private static final FrameLocator FRAME_LOCATOR = stub(FrameLocator.class);
+    private static final Locator LOCATOR = stub(Locator.class);
+
+    private StubPage() {
+    }
+
+    /**
+     * @return the stub Page
+     */
+    public static Page create() {
+        return PAGE;
+    }
+
+    private static <T> T stub(Class<T> type) {
+        InvocationHandler handler = StubPage::invoke;
+        return type.cast(Proxy.newProxyInstance(StubPage.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+            default:
+                return stubValue(method.getReturnType());
+        }
+    }
+
+    private static Object stubValue(Class<?> type) {
+        if (type == Page.class) {
+            return PAGE;
+        }
+        if (type == FrameLocator.class) {
+            return FRAME_LOCATOR;
+        }
+        if (type == Locator.class) {
+            return LOCATOR;
+        }
+        if (type == List.class) {
+            return List.of();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.adv4nt4ge.common.benchmarks;
+
+import io.github.adv4nt4ge.common.pages.BasePage;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates and compiles the page object classes measured by the benchmarks.
+ * <p>
+ * The shape of the classes is one of:
+ * <ul>
+ *     <li>{@code FLAT}: one class, every tenth field is a {@code List<ElementHandle>}</li>
+ *     <li>{@code FRAME}: the same fields in a class annotated with {@code @Frame}</li>
+ *     <li>{@code PARENT_<depth>}: one class whose Locator fields form {@code @Parent} chains of the given depth</li>
+ *     <li>{@code INHERITANCE_<depth>}: the fields spread over a hierarchy of the given depth</li>
+ * </ul>
+ * The classes have a {@code (Page)} constructor for {@code PageFactory.create} and a {@code (Page, Application)}
+ * constructor for {@code PageProducer}. They are compiled with the running JDK, with or without the
+ * {@code PageInitializerProcessor}, into a temporary directory.
+ */
+public final class SyntheticPages {
+    private static final String PACKAGE = "io.github.adv4nt4ge.common.benchmarks.synthetic";
+    private static final String PROCESSOR = "io.github.adv4nt4ge.common.page.factory.processor.PageInitializerProcessor";
+
+    private SyntheticPages() {
+    }
+
+    /**
+     * Generates, compiles and loads a page object class.
+     *
+     * @param shape                 the shape of the class
+     * @param fields                the total number of {@code @FindBy} fields
+     * @param generatedInitializers true to run the annotation processor generating the initializer of the class
+     * @return the page object class, the leaf of the hierarchy for {@code INHERITANCE} shapes
+     */
+    public static Class<? extends BasePage> compile(String shape, int fields, boolean generatedInitializers) {
+        String kind = shape.contains("_") ? shape.substring(0, shape.indexOf('_')) : shape;
+        int depth = shape.contains("_") ? Integer.parseInt(shape.substring(shape.indexOf('_') + 1)) : 1;
+        String baseName = "Page_" + shape + "_" + fields + (generatedInitializers ? "_Generated" : "");
+
+        List<String> classNames = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        switch (kind) {
+            case "FLAT":
+            case "FRAME":
+            case "PARENT":
+                classNames.add(baseName);
+                sources.add(source(baseName, "BasePage", kind, depth, 0, fields));
+                break;
+            case "INHERITANCE":
+                int perClass = Math.max(1, fields / depth);
+                String superName = "BasePage";
+                for (int level = 0; level < depth; level++) {
+                    String className = baseName + "_L" + level;
+                    int from = level * perClass;
+                    int to = level == depth - 1 ? fields : Math.min(fields, from + perClass);
+                    classNames.add(className);
+                    sources.add(source(className, superName, "FLAT", 1, from, to));
+                    superName = className;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+
+        try {
+            Path directory = Files.createTempDirectory("synthetic-pages");
+            Path packageDirectory = Files.createDirectories(directory.resolve(PACKAGE.replace('.', '/')));
+            List<String> arguments = new ArrayList<>(List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", directory.toString()));
+            if (generatedInitializers) {
+                arguments.addAll(List.of("-processor", PROCESSOR));
+            } else {
+                arguments.add("-proc:none");
+            }
+            for (int i = 0; i < classNames.size(); i++) {
+                Path file = packageDirectory.resolve(classNames.get(i) + ".java");
+                Files.writeString(file, sources.get(i));
+                arguments.add(file.toString());
+            }
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new IllegalStateException("The benchmarks must run on a JDK to compile the synthetic pages");
+            }
+            ByteArrayOutputStream errors = new ByteArrayOutputStream();
+            if (compiler.run(null, null, errors, arguments.toArray(new String[0])) != 0) {
+                throw new IllegalStateException("Unable to compile the synthetic pages:\n" + errors);
+            }
+
+            URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                    SyntheticPages.class.getClassLoader());
+            String leaf = classNames.get(classNames.size() - 1);
+            return Class.forName(PACKAGE + "." + leaf, true, classLoader).asSubclass(BasePage.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String source(String className, String superName, String kind, int depth, int from, int to) {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n")
+                .append("import com.microsoft.playwright.ElementHandle;\n")
+                .append("import com.microsoft.playwright.Locator;\n")
+                .append("import com.microsoft.playwright.Page;\n")
+                .append("import io.github.adv4nt4ge.common.Application;\n")
+                .append("import io.github.adv4nt4ge.common.pages.BasePage;\n")
+                .append("import io.github.adv4nt4ge.common.page.factory.annotations.*;\n")
+                .append("import java.util.List;\n\n");
+        if (kind.equals("FRAME")) {
+            source.append("@Frame(frame = \"#frame\")\n");
+        }
+        source.append("public class ").append(className).append(" extends ").append(superName).append(" {\n");
+
+        for (int i = from; i < to; i++) {
+            if (kind.equals("PARENT")) {
+                if ((i - from) % depth != 0) {
+                    source.append("    @Parent(\"f").append(i - 1).append("\")\n");
+                }
+                source.append("    ").append(findBy(i)).append("\n    public Locator f").append(i).append(";\n");
+            } else if (i % 10 == 9) {
+                source.append("    @FindBy(locator = \".item-").append(i).append("\")\n")
+                        .append("    public List<ElementHandle> f").append(i).append(";\n");
+            } else {
+                source.append("    ").append(findBy(i)).append("\n    public Locator f").append(i).append(";\n");
+            }
+        }
+
+        source.append("\n    public ").append(className).append("(Page page) {\n")
+                .append("        super(page, null);\n    }\n")
+                .append("\n    public ").append(className).append("(Page page, Application application) {\n")
+                .append("        super(page, application);\n    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static String findBy(int index) {
+        switch (index % 3) {
+            case 0:
+                return "@FindBy(locator = \"#field-" + index + "\")";
+            case 1:
+                return "@FindBy(testId = \"field-" + index + "\")";
+            default:
+                return "@FindBy(text = \"Field " + index + "\")";
+        }
+    }
+}
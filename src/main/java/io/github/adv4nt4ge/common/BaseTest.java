@@ -1,21 +1,67 @@
 package io.github.adv4nt4ge.common;
 
 
+import io.github.adv4nt4ge.common.junit.FailedTestMarker;
+import io.github.adv4nt4ge.common.network.NetworkRules;
 import io.github.adv4nt4ge.common.utils.BrowserStarter;
+import io.github.adv4nt4ge.common.utils.LoginFlow;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+/**
+ * Base class of tests starting a browser session for every test.
+ *
+ * @deprecated use {@link io.github.adv4nt4ge.common.junit.PlaywrightExtension}, which injects the Application and the
+ * page objects as parameters and limits the number of parallel sessions
+ */
+@Deprecated
+@ExtendWith(FailedTestMarker.class)
 public class BaseTest {
     protected Application application;
 
+    /**
+     * Starts the browser session of the test, with the routes of the {@code @Har} and {@code @BlockResources}
+     * annotations of the test method or class, or else of the {@code playwright.factory.network.*} properties.
+     *
+     * @param testInfo the running test
+     */
     @BeforeEach
-    public void setUp() {
+    public void setUp(TestInfo testInfo) {
         application = new Application();
-        new BrowserStarter().initPage();
+        NetworkRules networkRules = testInfo.getTestMethod()
+                .map(method -> NetworkRules.of(method, getClass()))
+                .orElseGet(() -> NetworkRules.of(getClass()));
+        BrowserStarter browserStarter = new BrowserStarter(networkRules.isEmpty() ? NetworkRules.fromSettings()
+                : networkRules);
+        LoginFlow loginFlow = getLoginFlow();
+        if (loginFlow == null) {
+            browserStarter.initPage();
+        } else {
+            browserStarter.initPage(getStorageStateKey(), loginFlow);
+        }
     }
 
     @AfterEach
     public void tearDown() {
-        BrowserStarter.getPlaywright().close();
+        BrowserStarter.closePage();
+    }
+
+    /**
+     * Override to start every test of the class already logged in. The storage state of the login is cached per
+     * {@link #getStorageStateKey()}, so the flow only runs when there is no valid cached state.
+     *
+     * @return the flow logging the user in, or null to start without a storage state
+     */
+    protected LoginFlow getLoginFlow() {
+        return null;
+    }
+
+    /**
+     * @return the key the storage state of {@link #getLoginFlow()} is cached under, e.g. the user role
+     */
+    protected String getStorageStateKey() {
+        return getClass().getName();
     }
 }
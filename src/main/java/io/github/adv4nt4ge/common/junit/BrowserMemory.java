@@ -0,0 +1,176 @@
+package io.github.adv4nt4ge.common.junit;
+
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the memory used per browser session, so the number of parallel sessions can be sized by the memory of the
+ * machine.
+ * <p>
+ * While tests run, the proportional set size (PSS) of all processes started by the JVM, the Playwright drivers and
+ * the browsers, is divided by the number of running sessions, or by the number of browsers when there are more
+ * browsers than sessions: pooled and prefetching workers keep their browser, and its prepared pages, between their
+ * tests, and each of these browsers is taken by a session later. PSS splits the pages shared by the Chromium processes
+ * between them, where the resident set size (RSS) would count them once per renderer and GPU process. The mean of
+ * these samples is written to {@code playwright.factory.parallel.rss.file} ({@code target/browser-rss.properties} by
+ * default) when the JVM ends, and is used by the next runs. Without a measurement,
+ * {@code playwright.factory.parallel.rss.default.mb} (400 MB) is assumed. PSS is read from
+ * {@code /proc/<pid>/smaps_rollup}, falling back to RSS on kernels without it. Other systems keep the last
+ * measurement or the default.
+ */
+public final class BrowserMemory {
+    private static final String SESSION_RSS = "session.pss.bytes";
+    private static final long MB = 1024 * 1024;
+    private static final Path FILE = Paths.get(Settings.getString("parallel.rss.file", "target/browser-rss.properties"));
+    private static final LongAdder SAMPLES = new LongAdder();
+    private static final LongAdder TOTAL = new LongAdder();
+    private static final AtomicBoolean SAVE_SCHEDULED = new AtomicBoolean();
+
+    private BrowserMemory() {
+    }
+
+    /**
+     * @return the measured memory of a browser session in bytes, or the default if it was never measured
+     */
+    public static long getSessionRss() {
+        long samples = SAMPLES.sum();
+        if (samples > 0) {
+            return TOTAL.sum() / samples;
+        }
+        long saved = load();
+        return saved > 0 ? saved : Settings.getLong("parallel.rss.default.mb", 400) * MB;
+    }
+
+    /**
+     * Samples the memory of the processes started by the JVM.
+     *
+     * @param sessions the number of sessions currently running
+     */
+    public static void sample(int sessions) {
+        if (sessions <= 0) {
+            return;
+        }
+        long rss = ProcessHandle.current().descendants().mapToLong(process -> readMemory(process.pid())).sum();
+        if (rss <= 0) {
+            return;
+        }
+        TOTAL.add(rss / Math.max(sessions, countBrowsers()));
+        SAMPLES.increment();
+        if (SAVE_SCHEDULED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(BrowserMemory::save));
+        }
+    }
+
+    /**
+     * Returns the memory available to new processes, from {@code MemAvailable} of {@code /proc/meminfo}, or the free
+     * physical memory reported by the JVM on other systems.
+     *
+     * @return the available memory in bytes
+     */
+    public static long getAvailableMemory() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/meminfo"))) {
+                if (line.startsWith("MemAvailable:")) {
+                    return parseKilobytes(line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, fall back to the JVM
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize();
+        }
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    /**
+     * Counts the browsers launched by the Playwright drivers of the JVM, idle ones included: the children of the
+     * driver processes, which are the children of the JVM. Connections to remote browsers have no local process.
+     */
+    private static long countBrowsers() {
+        try {
+            return ProcessHandle.current().children().mapToLong(driver -> driver.children().count()).sum();
+        } catch (RuntimeException e) {
+            // The process tree can not be read, count the sessions only
+            return 0;
+        }
+    }
+
+    private static long readMemory(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "smaps_rollup"))) {
+                if (line.startsWith("Pss:")) {
+                    return parseKilobytes(line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The process ended, or the kernel has no smaps_rollup: fall back to RSS
+        }
+        return readRss(pid);
+    }
+
+    private static long readRss(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"));
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    return parseKilobytes(line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The process ended or /proc is not available
+        }
+        return 0;
+    }
+
+    private static long parseKilobytes(String line) {
+        String[] parts = line.trim().split("\\s+");
+        return Long.parseLong(parts[1]) * 1024;
+    }
+
+    private static long load() {
+        if (!Files.isRegularFile(FILE)) {
+            return 0;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(FILE)) {
+            properties.load(reader);
+            return Long.parseLong(properties.getProperty(SESSION_RSS, "0"));
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void save() {
+        long samples = SAMPLES.sum();
+        if (samples == 0) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(SESSION_RSS, Long.toString(TOTAL.sum() / samples));
+        properties.setProperty("samples", Long.toString(samples));
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(FILE)) {
+                properties.store(writer, "Memory of a browser session, measured by " + BrowserMemory.class.getName());
+            }
+        } catch (IOException e) {
+            // The measurement is only an estimate for the next runs
+        }
+    }
+}
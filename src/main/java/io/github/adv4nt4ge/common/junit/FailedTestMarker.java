@@ -0,0 +1,28 @@
+package io.github.adv4nt4ge.common.junit;
+
+import io.github.adv4nt4ge.common.utils.BrowserStarter;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension marking the failed tests in {@link BrowserStarter}, right after the test method and before the
+ * {@code @AfterEach} methods closing the page, so the traces of the failed tests are saved. Only needed by tests
+ * closing the page themselves, {@link PlaywrightExtension} marks the failed tests already.
+ */
+public class FailedTestMarker implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            BrowserStarter.markFailed(getTestName(context));
+        }
+    }
+
+    /**
+     * @param context the context of a test
+     * @return the name of the test, e.g. {@code PageFactoryTests.testPageFactoryWithFindBy}
+     */
+    static String getTestName(ExtensionContext context) {
+        return context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.adv4nt4ge.common.junit;
+
+import io.github.adv4nt4ge.common.utils.LoginFlow;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts the tests of a class, or a single test, already logged in with the {@link LoginFlow}. The storage state of
+ * the login is cached per key, so the flow only runs when there is no valid cached state.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface LoggedIn {
+    /**
+     * @return the flow logging the user in, it needs a public no-argument constructor
+     */
+    Class<? extends LoginFlow> value();
+
+    /**
+     * @return the key the storage state is cached under, e.g. the user role, the name of the test class by default
+     */
+    String key() default "";
+}
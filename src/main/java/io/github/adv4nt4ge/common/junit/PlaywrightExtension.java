@@ -0,0 +1,137 @@
+package io.github.adv4nt4ge.common.junit;
+
+import com.microsoft.playwright.Page;
+import io.github.adv4nt4ge.common.Application;
+import io.github.adv4nt4ge.common.network.NetworkRules;
+import io.github.adv4nt4ge.common.pages.BasePage;
+import io.github.adv4nt4ge.common.utils.BrowserStarter;
+import io.github.adv4nt4ge.common.utils.LoginFlow;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Constructor;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 5 extension starting a browser session for every test, in place of extending
+ * {@link io.github.adv4nt4ge.common.BaseTest}:
+ * <pre>
+ * &#64;ExtendWith(PlaywrightExtension.class)
+ * public class SearchTests {
+ *
+ *     &#64;Test
+ *     public void search(PlaywrightPage playwrightPage) {
+ *         playwrightPage.checkIsVisibleStartedButtons();
+ *     }
+ * }
+ * </pre>
+ * The {@link Application} of the test, its {@link Page} and page objects extending {@link BasePage} are injected as
+ * parameters of the test and lifecycle methods, page objects being produced by the Application. A test or class
+ * annotated with {@link LoggedIn} starts logged in.
+ * <p>
+ * At most {@link SessionLimits#getMaxSessions()} sessions run at once: a test waits for a running session to end
+ * before starting its own. With {@code -Dplaywright.factory.trace=true} the trace of a failed test is saved, see
+ * {@link io.github.adv4nt4ge.common.tracing.TestTrace}.
+ */
+public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PlaywrightExtension.class);
+    private static final String APPLICATION = "application";
+    private static final String SESSION = "session";
+    private static final AtomicInteger RUNNING_SESSIONS = new AtomicInteger();
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        SessionLimits.getPermits().acquire();
+        boolean started = false;
+        try {
+            startSession(context);
+            started = true;
+        } finally {
+            if (!started) {
+                BrowserStarter.closePage();
+                SessionLimits.getPermits().release();
+            }
+        }
+        RUNNING_SESSIONS.incrementAndGet();
+        context.getStore(NAMESPACE).put(SESSION, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (context.getStore(NAMESPACE).remove(SESSION) == null) {
+            return;
+        }
+        try {
+            BrowserMemory.sample(RUNNING_SESSIONS.get());
+            if (context.getExecutionException().isPresent()) {
+                BrowserStarter.markFailed(FailedTestMarker.getTestName(context));
+            }
+            BrowserStarter.closePage();
+        } finally {
+            RUNNING_SESSIONS.decrementAndGet();
+            SessionLimits.getPermits().release();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        if (parameterContext.getDeclaringExecutable() instanceof Constructor) {
+            return false;
+        }
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Application.class || type == Page.class || BasePage.class.isAssignableFrom(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        if (type == Page.class) {
+            return BrowserStarter.getPage();
+        }
+        Application application = extensionContext.getStore(NAMESPACE).get(APPLICATION, Application.class);
+        if (application == null) {
+            throw new ParameterResolutionException("No browser session is running for " + extensionContext.getDisplayName());
+        }
+        return type == Application.class ? application : application.getPages((Class<? extends BasePage>) type);
+    }
+
+    /**
+     * Creates the Application of the test and starts its session, logged in when the test or its class is
+     * annotated with {@link LoggedIn}, and with the routes of the {@link io.github.adv4nt4ge.common.network.Har} and
+     * {@link io.github.adv4nt4ge.common.network.BlockResources} annotations of the test or its class.
+     *
+     * @param context the context of the test
+     * @throws ReflectiveOperationException if the login flow can not be created
+     */
+    protected void startSession(ExtensionContext context) throws ReflectiveOperationException {
+        context.getStore(NAMESPACE).put(APPLICATION, createApplication(context));
+        NetworkRules networkRules = NetworkRules.of(context.getRequiredTestMethod(), context.getRequiredTestClass());
+        BrowserStarter browserStarter = new BrowserStarter(networkRules.isEmpty() ? NetworkRules.fromSettings() : networkRules);
+        Optional<LoggedIn> loggedIn = AnnotationSupport.findAnnotation(context.getTestMethod(), LoggedIn.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), LoggedIn.class));
+        if (loggedIn.isEmpty()) {
+            browserStarter.initPage();
+            return;
+        }
+        LoginFlow loginFlow = loggedIn.get().value().getConstructor().newInstance();
+        String key = loggedIn.get().key().isEmpty() ? context.getRequiredTestClass().getName() : loggedIn.get().key();
+        browserStarter.initPage(key, loginFlow);
+    }
+
+    /**
+     * Override to use a subclass of Application.
+     *
+     * @param context the context of the test
+     * @return the Application of the test
+     */
+    protected Application createApplication(ExtensionContext context) {
+        return new Application();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.adv4nt4ge.common.junit;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Sizes the parallel execution of JUnit by {@link SessionLimits}, so no more tests run at once than browser
+ * sessions fit in the CPUs and the memory of the machine. Enable it in {@code junit-platform.properties}:
+ * <pre>
+ * junit.jupiter.execution.parallel.config.strategy = custom
+ * junit.jupiter.execution.parallel.config.custom.class = io.github.adv4nt4ge.common.junit.ResourceAwareParallelStrategy
+ * </pre>
+ * JUnit may still start more tests than the parallelism while others are blocked, so {@link PlaywrightExtension}
+ * also holds a permit per running session.
+ */
+public class ResourceAwareParallelStrategy implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = SessionLimits.getMaxSessions();
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.adv4nt4ge.common.junit;
+
+import io.github.adv4nt4ge.common.utils.RemoteBrowserPool;
+import io.github.adv4nt4ge.common.utils.RemoteEndpoint;
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Computes how many browser sessions can run at once, once per JVM.
+ * <p>
+ * The limit is the lowest of the CPU limit, the number of processors times
+ * {@code playwright.factory.parallel.cores.factor} (1 by default), and the memory limit, the available memory minus
+ * {@code playwright.factory.parallel.memory.reserve.mb} (1024 MB by default) divided by the memory of a session
+ * measured by {@link BrowserMemory}. With remote endpoints, the browsers do not run on this machine and the limit is
+ * the total number of sessions of the endpoints, see {@link RemoteBrowserPool}.
+ * {@code playwright.factory.parallel.sessions=N} sets the limit explicitly.
+ */
+public final class SessionLimits {
+    private static final long MB = 1024 * 1024;
+
+    private SessionLimits() {
+    }
+
+    /**
+     * @return the maximum number of browser sessions running at once, at least 1
+     */
+    public static int getMaxSessions() {
+        return Holder.MAX_SESSIONS;
+    }
+
+    /**
+     * @return the permits of the running sessions, one per session
+     */
+    static Semaphore getPermits() {
+        return Holder.PERMITS;
+    }
+
+    private static int computeMaxSessions() {
+        int configured = Settings.getInt("parallel.sessions", 0);
+        if (configured > 0) {
+            return configured;
+        }
+        RemoteBrowserPool remotePool = RemoteBrowserPool.fromSettings();
+        if (remotePool != null) {
+            return remotePool.getEndpoints().stream().mapToInt(RemoteEndpoint::getMaxSessions).sum();
+        }
+        double coresFactor = Settings.getDouble("parallel.cores.factor", 1);
+        int byCpu = (int) Math.max(1, Math.round(Runtime.getRuntime().availableProcessors() * coresFactor));
+
+        long reserve = Settings.getLong("parallel.memory.reserve.mb", 1024) * MB;
+        long available = BrowserMemory.getAvailableMemory() - reserve;
+        int byMemory = (int) Math.max(1, Math.min(Integer.MAX_VALUE, available / BrowserMemory.getSessionRss()));
+        return Math.min(byCpu, byMemory);
+    }
+
+    private static final class Holder {
+        private static final int MAX_SESSIONS = computeMaxSessions();
+        private static final Semaphore PERMITS = new Semaphore(MAX_SESSIONS, true);
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.adv4nt4ge.common.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Aborts the requests of a test class, a test or a page object class that the test does not need, such as images,
+ * fonts or analytics.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface BlockResources {
+    /**
+     * @return the Playwright resource types to block, e.g. {@code image}, {@code font}, {@code media} or
+     * {@code stylesheet}
+     */
+    String[] types() default {};
+
+    /**
+     * @return the glob patterns of the URLs to block, e.g. {@code **}{@code /analytics/**}
+     */
+    String[] urls() default {};
+}
@@ -0,0 +1,122 @@
+package io.github.adv4nt4ge.common.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A rule of the {@link StaticAssetCache} for the URLs matching a glob pattern: never cache them, respect their cache
+ * headers, or cache them for a fixed time whatever their headers say.
+ */
+public final class CacheRule {
+    /**
+     * The time to live of a rule respecting the cache headers of the responses.
+     */
+    public static final long HEADERS = -1;
+
+    private final String glob;
+    private final Pattern pattern;
+    private final long ttlSeconds;
+
+    /**
+     * Constructs a CacheRule.
+     *
+     * @param glob       the glob pattern of the URLs, {@code *} matching within a path segment and {@code **} across
+     *                   segments
+     * @param ttlSeconds how long the responses are cached, 0 to never cache them, or {@link #HEADERS} to follow their
+     *                   cache headers
+     */
+    public CacheRule(String glob, long ttlSeconds) {
+        this.glob = glob;
+        this.pattern = Pattern.compile(globToRegex(glob));
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Parses comma-separated rules such as {@code **}{@code /*.js=3600,**}{@code /api/**=0,**}{@code /*.css=headers}.
+     *
+     * @param rules the rules, may be empty
+     * @return the parsed rules in order
+     */
+    public static List<CacheRule> parse(String rules) {
+        List<CacheRule> parsed = new ArrayList<>();
+        for (String rule : splitOutsideBraces(rules)) {
+            if (rule.isBlank()) {
+                continue;
+            }
+            int separator = rule.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cache rule \"" + rule + "\", expected <glob>=<seconds|headers>");
+            }
+            String ttl = rule.substring(separator + 1).trim();
+            parsed.add(new CacheRule(rule.substring(0, separator).trim(),
+                    ttl.equalsIgnoreCase("headers") ? HEADERS : Long.parseLong(ttl)));
+        }
+        return parsed;
+    }
+
+    /**
+     * @param url the URL of a request
+     * @return true if the rule applies to the URL
+     */
+    public boolean matches(String url) {
+        return pattern.matcher(url).matches();
+    }
+
+    /**
+     * @return how long the responses are cached in seconds, 0 to never cache them, or {@link #HEADERS}
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return glob + "=" + (ttlSeconds == HEADERS ? "headers" : Long.toString(ttlSeconds));
+    }
+
+    private static List<String> splitOutsideBraces(String rules) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < rules.length(); i++) {
+            char c = rules.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(rules.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(rules.substring(start));
+        return parts;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                boolean deep = i + 1 < glob.length() && glob.charAt(i + 1) == '*';
+                regex.append(deep ? ".*" : "[^/]*");
+                if (deep) {
+                    i++;
+                }
+            } else if (c == '{') {
+                inGroup = true;
+                regex.append("(?:");
+            } else if (c == '}' && inGroup) {
+                inGroup = false;
+                regex.append(')');
+            } else if (c == ',' && inGroup) {
+                regex.append('|');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+}
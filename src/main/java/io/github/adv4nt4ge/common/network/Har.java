@@ -0,0 +1,53 @@
+package io.github.adv4nt4ge.common.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serves the network traffic of a test class, a test or a page object class from a HAR file, recording it when the
+ * file does not exist yet. A test then runs without network, at local speed and with repeatable timings.
+ * <p>
+ * HAR files are resolved in {@code playwright.factory.har.dir} ({@code src/test/resources/har} by default). A
+ * recorded file is written when the context of the test is closed.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Har {
+    /**
+     * @return the HAR file, named after the test, e.g. {@code DocsTests.search.har}, or the annotated page object class
+     * by default
+     */
+    String value() default "";
+
+    /**
+     * @return the glob pattern of the URLs served from the HAR, all URLs by default
+     */
+    String url() default "";
+
+    /**
+     * @return whether the HAR is recorded or replayed
+     */
+    Mode mode() default Mode.AUTO;
+
+    /**
+     * @return true to send the requests missing from the HAR to the network, false to abort them
+     */
+    boolean fallback() default false;
+
+    enum Mode {
+        /**
+         * Records the HAR if the file does not exist, replays it otherwise.
+         */
+        AUTO,
+        /**
+         * Records the HAR, replacing the file.
+         */
+        RECORD,
+        /**
+         * Replays the HAR, the file must exist.
+         */
+        REPLAY
+    }
+}
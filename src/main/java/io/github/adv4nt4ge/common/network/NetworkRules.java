@@ -0,0 +1,254 @@
+package io.github.adv4nt4ge.common.network;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.HarNotFound;
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The routes of a browser context: the HAR file serving its traffic and the blocked resources, from the {@link Har}
+ * and {@link BlockResources} annotations or from the {@code playwright.factory.network.*} properties.
+ * <p>
+ * Blocked requests are aborted before the HAR is looked up, other requests fall back to the HAR and then to the
+ * network. A HAR file is recorded by one context at a time: the contexts and pages routed while it is being recorded
+ * use the network, as concurrent recordings would overwrite each other.
+ */
+public final class NetworkRules {
+    private static final NetworkRules NONE = new NetworkRules(null, null, Har.Mode.AUTO, false, Set.of(), List.of());
+    private static final Map<Page, Set<Class<?>>> PAGE_RULES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Set<Path> RECORDING = ConcurrentHashMap.newKeySet();
+
+    private final Path har;
+    private final String harUrl;
+    private final Har.Mode harMode;
+    private final boolean harFallback;
+    private final Set<String> blockedTypes;
+    private final List<String> blockedUrls;
+
+    private NetworkRules(Path har, String harUrl, Har.Mode harMode, boolean harFallback, Set<String> blockedTypes,
+                         List<String> blockedUrls) {
+        this.har = har;
+        this.harUrl = harUrl;
+        this.harMode = harMode;
+        this.harFallback = harFallback;
+        this.blockedTypes = blockedTypes;
+        this.blockedUrls = blockedUrls;
+    }
+
+    /**
+     * @return rules installing no route
+     */
+    public static NetworkRules none() {
+        return NONE;
+    }
+
+    /**
+     * Reads the rules of every context from the properties: {@code playwright.factory.network.har} (the HAR file),
+     * {@code .har.url}, {@code .har.mode} ({@code auto}, {@code record} or {@code replay}), {@code .har.fallback},
+     * and the comma-separated {@code playwright.factory.network.block.types} and {@code .block.urls}.
+     *
+     * @return the rules of the properties
+     */
+    public static NetworkRules fromSettings() {
+        String harFile = Settings.getString("network.har", null);
+        Set<String> types = split(Settings.getString("network.block.types", ""));
+        List<String> urls = List.copyOf(split(Settings.getString("network.block.urls", "")));
+        if (harFile == null && types.isEmpty() && urls.isEmpty()) {
+            return NONE;
+        }
+        return new NetworkRules(harFile == null ? null : resolveHar(harFile),
+                Settings.getString("network.har.url", null),
+                Har.Mode.valueOf(Settings.getString("network.har.mode", "auto").toUpperCase()),
+                Settings.getBoolean("network.har.fallback", false), types, urls);
+    }
+
+    /**
+     * Reads the rules from the annotations of the elements, the first annotated element winning, e.g. a test method
+     * before its class. A HAR without a file name is named after the test when a test method is given, even if the
+     * class is annotated, so the tests of a class running concurrently do not share a file.
+     *
+     * @param elements the annotated test methods or classes
+     * @return the rules of the annotations, or {@link #none()} if no element is annotated
+     */
+    public static NetworkRules of(AnnotatedElement... elements) {
+        Har harAnnotation = null;
+        AnnotatedElement harElement = null;
+        BlockResources block = null;
+        for (AnnotatedElement element : elements) {
+            if (harAnnotation == null && element.isAnnotationPresent(Har.class)) {
+                harAnnotation = element.getAnnotation(Har.class);
+                harElement = element;
+            }
+            if (block == null) {
+                block = element.getAnnotation(BlockResources.class);
+            }
+        }
+        if (harAnnotation == null && block == null) {
+            return NONE;
+        }
+
+        Path harPath = null;
+        if (harAnnotation != null) {
+            harPath = resolveHar(harAnnotation.value().isEmpty() ? harName(harElement, elements)
+                    : harAnnotation.value());
+        }
+        return new NetworkRules(harPath,
+                harAnnotation == null || harAnnotation.url().isEmpty() ? null : harAnnotation.url(),
+                harAnnotation == null ? Har.Mode.AUTO : harAnnotation.mode(),
+                harAnnotation != null && harAnnotation.fallback(),
+                block == null ? Set.of() : Set.of(block.types()),
+                block == null ? List.of() : List.of(block.urls()));
+    }
+
+    /**
+     * @return true if the rules install no route
+     */
+    public boolean isEmpty() {
+        return har == null && blockedTypes.isEmpty() && blockedUrls.isEmpty();
+    }
+
+    /**
+     * @return the HAR file, or null if no HAR is used
+     */
+    public Path getHar() {
+        return har;
+    }
+
+    /**
+     * Installs the routes on a context, before its pages are created.
+     *
+     * @param context the new context
+     */
+    public void install(BrowserContext context) {
+        boolean recording = har != null && isRecording();
+        if (har != null && (!recording || startRecording(context))) {
+            BrowserContext.RouteFromHAROptions options = new BrowserContext.RouteFromHAROptions()
+                    .setUpdate(recording)
+                    .setNotFound(harFallback ? HarNotFound.FALLBACK : HarNotFound.ABORT);
+            if (harUrl != null) {
+                options.setUrl(harUrl);
+            }
+            context.routeFromHAR(har, options);
+        }
+        installBlocking(context::route);
+    }
+
+    /**
+     * Installs the routes of a page object class on a page, once per page and class.
+     *
+     * @param page            the page
+     * @param pageObjectClass the annotated page object class
+     */
+    public void install(Page page, Class<?> pageObjectClass) {
+        if (isEmpty() || !PAGE_RULES.computeIfAbsent(page, key -> new HashSet<>()).add(pageObjectClass)) {
+            return;
+        }
+        boolean recording = har != null && isRecording();
+        if (har != null && (!recording || startRecording(page.context()))) {
+            Page.RouteFromHAROptions options = new Page.RouteFromHAROptions()
+                    .setUpdate(recording)
+                    .setNotFound(harFallback ? HarNotFound.FALLBACK : HarNotFound.ABORT);
+            if (harUrl != null) {
+                options.setUrl(harUrl);
+            }
+            page.routeFromHAR(har, options);
+        }
+        installBlocking(page::route);
+    }
+
+    private void installBlocking(RouteInstaller installer) {
+        for (String url : blockedUrls) {
+            installer.route(url, Route::abort);
+        }
+        if (!blockedTypes.isEmpty()) {
+            installer.route("**/*", route -> {
+                if (blockedTypes.contains(route.request().resourceType())) {
+                    route.abort();
+                } else {
+                    route.fallback();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns whether the HAR is recorded, creating its directory when it is.
+     */
+    private boolean isRecording() {
+        boolean recording = harMode == Har.Mode.RECORD || harMode == Har.Mode.AUTO && !Files.exists(har);
+        if (recording && har.getParent() != null) {
+            try {
+                Files.createDirectories(har.getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return recording;
+    }
+
+    /**
+     * Claims the recording of the HAR until the context is closed, when the file has been written.
+     *
+     * @param context the context recording the HAR
+     * @return false if the HAR is already being recorded
+     */
+    private boolean startRecording(BrowserContext context) {
+        Path file = har.toAbsolutePath().normalize();
+        if (!RECORDING.add(file)) {
+            return false;
+        }
+        context.onClose(closed -> RECORDING.remove(file));
+        return true;
+    }
+
+    private static Path resolveHar(String file) {
+        return Paths.get(Settings.getString("har.dir", "src/test/resources/har")).resolve(file);
+    }
+
+    private static String harName(AnnotatedElement annotated, AnnotatedElement... elements) {
+        Method method = null;
+        Class<?> clazz = null;
+        for (AnnotatedElement element : elements) {
+            if (method == null && element instanceof Method) {
+                method = (Method) element;
+            } else if (clazz == null && element instanceof Class) {
+                clazz = (Class<?>) element;
+            }
+        }
+        if (method != null) {
+            return (clazz == null ? method.getDeclaringClass() : clazz).getSimpleName() + "." + method.getName() + ".har";
+        }
+        return ((Class<?>) annotated).getSimpleName() + ".har";
+    }
+
+    private static Set<String> split(String values) {
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @FunctionalInterface
+    private interface RouteInstaller {
+        void route(String url, Consumer<Route> handler);
+    }
+}
@@ -0,0 +1,454 @@
+package io.github.adv4nt4ge.common.network;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of static assets shared by all browser contexts of the JVM, so the scripts, stylesheets, fonts and images
+ * downloaded by one test are served from memory to the next ones instead of each new context starting with an empty
+ * HTTP cache.
+ * <p>
+ * The cache is installed as a route of every new context ({@code -Dplaywright.factory.asset.cache=true}). It handles
+ * the GET requests of the cached resource types ({@code playwright.factory.asset.cache.types}, {@code script},
+ * {@code stylesheet}, {@code font} and {@code image} by default): a fresh cached response is fulfilled without
+ * network, a stale one with an {@code ETag} or {@code Last-Modified} is revalidated, and other requests are fetched
+ * and stored when their response may be cached. Without a matching {@link CacheRule}
+ * ({@code playwright.factory.asset.cache.rules}), the {@code Cache-Control}, {@code Expires} and {@code Vary} headers
+ * are respected. Responses that are private, set cookies or are redirected are never stored, nor responses to
+ * requests with an {@code Authorization} header or, unless they are {@code public}, with cookies.
+ * <p>
+ * The cache holds at most {@code playwright.factory.asset.cache.max.mb} (256 MB by default), evicting the least
+ * recently used responses. When {@code playwright.factory.asset.cache.spill.dir} is set, evicted responses are written
+ * there and memory-mapped, up to {@code playwright.factory.asset.cache.spill.max.mb} (1024 MB by default).
+ */
+public final class StaticAssetCache {
+    private static final long MB = 1024 * 1024;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("content-encoding", "content-length",
+            "transfer-encoding", "connection", "keep-alive");
+
+    private final long maxBytes;
+    private final Path spillDirectory;
+    private final long maxSpillBytes;
+    private final List<CacheRule> rules;
+    private final Set<String> resourceTypes;
+    private final LinkedHashMap<String, CachedAsset> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, CachedAsset> spilled = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong spillFiles = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private long memoryBytes;
+    private long spilledBytes;
+
+    /**
+     * Constructs a StaticAssetCache.
+     *
+     * @param maxBytes       the maximum size of the responses held in memory
+     * @param spillDirectory the directory evicted responses are written to, or null to drop them
+     * @param maxSpillBytes  the maximum size of the responses written to the spill directory
+     * @param rules          the rules of the URLs, the first matching rule applies
+     * @param resourceTypes  the Playwright resource types to cache
+     */
+    public StaticAssetCache(long maxBytes, Path spillDirectory, long maxSpillBytes, List<CacheRule> rules,
+                            Set<String> resourceTypes) {
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+        this.rules = List.copyOf(rules);
+        this.resourceTypes = Set.copyOf(resourceTypes);
+    }
+
+    /**
+     * @return the cache shared by the JVM, configured by the {@code playwright.factory.asset.cache.*} properties
+     */
+    public static StaticAssetCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Routes the requests of a context through the cache. Routes installed later, e.g. the {@link NetworkRules},
+     * handle the requests first.
+     *
+     * @param context the new context
+     */
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handle);
+    }
+
+    /**
+     * @return the number of requests fulfilled from the cache, including revalidated ones
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of cacheable requests fetched from the network
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of stale responses confirmed by the server
+     */
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Drops all cached responses.
+     */
+    public synchronized void clear() {
+        memory.clear();
+        spilled.values().forEach(CachedAsset::deleteSpillFile);
+        spilled.clear();
+        memoryBytes = 0;
+        spilledBytes = 0;
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String url = request.url();
+        CacheRule rule = findRule(url);
+        if (!request.method().equals("GET") || (rule == null ? !resourceTypes.contains(request.resourceType())
+                : rule.getTtlSeconds() == 0)) {
+            route.fallback();
+            return;
+        }
+
+        try {
+            CachedAsset cached = get(url);
+            long now = System.currentTimeMillis();
+            if (cached != null && cached.expiresAt > now) {
+                hits.increment();
+                fulfill(route, cached);
+                return;
+            }
+
+            Map<String, String> headers = new HashMap<>(request.headers());
+            if (cached != null && cached.validator != null) {
+                headers.put(cached.validator.getKey(), cached.validator.getValue());
+            }
+            APIResponse response = route.fetch(new Route.FetchOptions().setHeaders(headers).setMaxRedirects(0));
+            try {
+                if (cached != null && response.status() == 304) {
+                    revalidations.increment();
+                    hits.increment();
+                    put(url, cached.refreshed(expiresAt(rule, response.headers(), now)));
+                    fulfill(route, cached);
+                    return;
+                }
+                misses.increment();
+                byte[] body = response.body();
+                long expiresAt = isStorable(request, response) ? expiresAt(rule, response.headers(), now) : 0;
+                if (expiresAt > now || expiresAt > 0 && validator(response.headers()) != null) {
+                    put(url, new CachedAsset(response.status(), storedHeaders(response.headers()), body, expiresAt,
+                            validator(response.headers())));
+                }
+                route.fulfill(new Route.FulfillOptions().setResponse(response).setBodyBytes(body)
+                        .setHeaders(storedHeaders(response.headers())));
+            } finally {
+                response.dispose();
+            }
+        } catch (PlaywrightException e) {
+            // The fetch failed, let the browser make the request itself
+            route.fallback();
+        }
+    }
+
+    private CacheRule findRule(String url) {
+        for (CacheRule rule : rules) {
+            if (rule.matches(url)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static void fulfill(Route route, CachedAsset cached) {
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(cached.status)
+                .setHeaders(cached.headers)
+                .setBodyBytes(cached.body()));
+    }
+
+    /**
+     * Only complete, public and unpersonalized responses of the requested URL are shared between contexts: entries are
+     * keyed by URL only, so responses to requests with credentials are stored only when marked {@code public}, and
+     * never for an {@code Authorization} header.
+     */
+    private static boolean isStorable(Request request, APIResponse response) {
+        Map<String, String> headers = response.headers();
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        String vary = headers.getOrDefault("vary", "").toLowerCase(Locale.ROOT).replace(" ", "");
+        if (response.status() != 200
+                || cacheControl.contains("no-store") || cacheControl.contains("private")
+                || headers.containsKey("set-cookie")
+                || !vary.isEmpty() && !vary.equals("accept-encoding")) {
+            return false;
+        }
+        // Request.headers() leaves out the cookies, allHeaders() has them
+        Map<String, String> requestHeaders = request.allHeaders();
+        return !requestHeaders.containsKey("authorization")
+                && (!requestHeaders.containsKey("cookie")
+                || Arrays.stream(cacheControl.split(",")).map(String::trim).anyMatch("public"::equals));
+    }
+
+    /**
+     * Computes until when a response is fresh, from the rule, or from {@code s-maxage}, {@code max-age},
+     * {@code Expires} or, as a heuristic, a tenth of the age of {@code Last-Modified}.
+     *
+     * @return the expiration time, {@code now} for responses to revalidate on every use, or 0 for responses that
+     * must not be cached
+     */
+    private static long expiresAt(CacheRule rule, Map<String, String> headers, long now) {
+        if (rule != null && rule.getTtlSeconds() > 0) {
+            return now + rule.getTtlSeconds() * 1000;
+        }
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-cache")) {
+            return now;
+        }
+        long age = parseLong(headers.get("age"), 0);
+        long maxAge = directive(cacheControl, "s-maxage");
+        if (maxAge < 0) {
+            maxAge = directive(cacheControl, "max-age");
+        }
+        if (maxAge >= 0) {
+            return now + Math.max(0, maxAge - age) * 1000;
+        }
+
+        long date = parseDate(headers.get("date"), now);
+        long expires = parseDate(headers.get("expires"), -1);
+        if (expires >= 0) {
+            return expires > date ? now + expires - date : now;
+        }
+        long lastModified = parseDate(headers.get("last-modified"), -1);
+        if (lastModified >= 0 && lastModified < date) {
+            return now + Math.min((date - lastModified) / 10, 24 * 3600 * 1000L);
+        }
+        return 0;
+    }
+
+    private static long directive(String cacheControl, String name) {
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name)) {
+                return parseLong(parts[1].replace("\"", ""), -1);
+            }
+        }
+        return -1;
+    }
+
+    private static Map.Entry<String, String> validator(Map<String, String> headers) {
+        if (headers.containsKey("etag")) {
+            return Map.entry("if-none-match", headers.get("etag"));
+        }
+        if (headers.containsKey("last-modified")) {
+            return Map.entry("if-modified-since", headers.get("last-modified"));
+        }
+        return null;
+    }
+
+    /**
+     * The body of a fetched response is already decoded, so the headers describing the encoding are dropped.
+     */
+    private static Map<String, String> storedHeaders(Map<String, String> headers) {
+        return headers.entrySet().stream()
+                .filter(header -> !HOP_BY_HOP_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        try {
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long parseDate(String value, long defaultValue) {
+        try {
+            return value == null ? defaultValue
+                    : ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return defaultValue;
+        }
+    }
+
+    private synchronized CachedAsset get(String url) {
+        CachedAsset cached = memory.get(url);
+        if (cached == null) {
+            cached = spilled.get(url);
+        }
+        return cached;
+    }
+
+    private synchronized void put(String url, CachedAsset asset) {
+        if (asset.size > maxBytes / 4) {
+            return;
+        }
+        remove(url);
+        memory.put(url, asset);
+        memoryBytes += asset.size;
+
+        Iterator<Map.Entry<String, CachedAsset>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedAsset> entry = eldest.next();
+            eldest.remove();
+            memoryBytes -= entry.getValue().size;
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void remove(String url) {
+        CachedAsset previous = memory.remove(url);
+        if (previous != null) {
+            memoryBytes -= previous.size;
+        }
+        previous = spilled.remove(url);
+        if (previous != null) {
+            spilledBytes -= previous.size;
+            previous.deleteSpillFile();
+        }
+    }
+
+    private void spill(String url, CachedAsset asset) {
+        if (spillDirectory == null || asset.size > maxSpillBytes) {
+            return;
+        }
+        CachedAsset mapped = asset.spill(spillDirectory.resolve(spillFiles.incrementAndGet() + ".asset"));
+        if (mapped == null) {
+            return;
+        }
+        spilled.put(url, mapped);
+        spilledBytes += mapped.size;
+
+        Iterator<Map.Entry<String, CachedAsset>> eldest = spilled.entrySet().iterator();
+        while (spilledBytes > maxSpillBytes && eldest.hasNext()) {
+            CachedAsset evicted = eldest.next().getValue();
+            eldest.remove();
+            spilledBytes -= evicted.size;
+            evicted.deleteSpillFile();
+        }
+    }
+
+    /**
+     * A cached response, with its body in memory or in a memory-mapped spill file.
+     */
+    private static final class CachedAsset {
+        private final int status;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final MappedByteBuffer mappedBody;
+        private final Path spillFile;
+        private final long size;
+        private final long expiresAt;
+        private final Map.Entry<String, String> validator;
+
+        private CachedAsset(int status, Map<String, String> headers, byte[] body, long expiresAt,
+                            Map.Entry<String, String> validator) {
+            this(status, headers, body, null, null, body.length, expiresAt, validator);
+        }
+
+        private CachedAsset(int status, Map<String, String> headers, byte[] body, MappedByteBuffer mappedBody,
+                            Path spillFile, long size, long expiresAt, Map.Entry<String, String> validator) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.mappedBody = mappedBody;
+            this.spillFile = spillFile;
+            this.size = size;
+            this.expiresAt = expiresAt;
+            this.validator = validator;
+        }
+
+        private byte[] body() {
+            if (body != null) {
+                return body;
+            }
+            byte[] bytes = new byte[mappedBody.capacity()];
+            mappedBody.duplicate().get(bytes);
+            return bytes;
+        }
+
+        private CachedAsset refreshed(long newExpiresAt) {
+            return new CachedAsset(status, headers, body, mappedBody, spillFile, size, newExpiresAt, validator);
+        }
+
+        /**
+         * Writes the body to the file and maps it.
+         *
+         * @return the spilled response, or null if the file could not be written
+         */
+        private CachedAsset spill(Path file) {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, body());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    return new CachedAsset(status, headers, null, mapped, file, size, expiresAt, validator);
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private void deleteSpillFile() {
+            if (spillFile == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                // The file is deleted when the JVM ends
+            }
+        }
+    }
+
+    private static final class Shared {
+        private static final StaticAssetCache INSTANCE = create();
+
+        private static StaticAssetCache create() {
+            String spillDirectory = Settings.getString("asset.cache.spill.dir", null);
+            Path spillPath = spillDirectory == null ? null : Paths.get(spillDirectory);
+            if (spillPath != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> INSTANCE.clear()));
+            }
+            return new StaticAssetCache(Settings.getLong("asset.cache.max.mb", 256) * MB, spillPath,
+                    Settings.getLong("asset.cache.spill.max.mb", 1024) * MB,
+                    CacheRule.parse(Settings.getString("asset.cache.rules", "")),
+                    Arrays.stream(Settings.getString("asset.cache.types", "script,stylesheet,font,image").split(","))
+                            .map(String::trim)
+                            .filter(type -> !type.isEmpty())
+                            .collect(Collectors.toSet()));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.Locator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Creates component objects: classes with {@code @FindBy} fields, such as a header, a table row or a modal, that are
+ * held by a field of a page object and rooted at the Locator of that field.
+ * <p>
+ * A component class has a public constructor taking its root {@code Locator}, or a public no-argument constructor.
+ * The fields of a component without a {@code @Parent} are located inside the root, and components can hold other
+ * components. Components are created:
+ * <ul>
+ *     <li>with the page object for a field of the component type,</li>
+ *     <li>on first call to {@code get()} for a {@code Supplier<Component>} field,</li>
+ *     <li>one per element, on first access of the element, for a {@code List<Component>} field.</li>
+ * </ul>
+ * Creating a component makes no browser call, only its Locators are created.
+ */
+public final class ComponentFactory {
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            return findConstructor(type);
+        }
+    };
+
+    private ComponentFactory() {
+    }
+
+    /**
+     * Returns whether the type can be used as a component: a concrete class, outside of the JDK and Playwright,
+     * with a public {@code (Locator)} or no-argument constructor.
+     *
+     * @param type the type of a field
+     * @return true if the type is a component class
+     */
+    public static boolean isComponentType(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers())
+                || type.getName().startsWith("java.") || type.getName().startsWith("com.microsoft.playwright.")) {
+            return false;
+        }
+        return CONSTRUCTORS.get(type) != null;
+    }
+
+    /**
+     * Creates a component rooted at the Locator and initializes its fields.
+     *
+     * @param <T>           the type of the component
+     * @param componentType the component class
+     * @param root          the Locator of the root element of the component
+     * @return the component
+     */
+    public static <T> T create(Class<T> componentType, Locator root) {
+        Constructor<?> constructor = CONSTRUCTORS.get(componentType);
+        if (constructor == null) {
+            throw new RuntimeException("Unable to create the component " + componentType.getName()
+                    + ". A component needs a public constructor taking its root Locator, or a public no-argument constructor.");
+        }
+
+        T component;
+        try {
+            component = componentType.cast(constructor.getParameterCount() == 1
+                    ? constructor.newInstance(root)
+                    : constructor.newInstance());
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+        PageFactory.initElements(component, new ElementFieldDecorator(root));
+        return component;
+    }
+
+    /**
+     * Creates a Supplier creating the component on its first call.
+     *
+     * @param <T>           the type of the component
+     * @param componentType the component class
+     * @param root          the Locator of the root element of the component
+     * @return the Supplier of the component
+     */
+    public static <T> Supplier<T> lazy(Class<T> componentType, Locator root) {
+        return new LazyComponent<>(componentType, root);
+    }
+
+    /**
+     * Creates a lazy list with one component per element matching the Locator. The elements are counted on first
+     * access of the list, and each component is created on first access of its element.
+     *
+     * @param <T>             the type of the components
+     * @param componentType   the component class
+     * @param locator         the Locator of the root elements of the components
+     * @param pageObjectClass the class of the page object holding the list
+     * @param fieldName       the name of the field holding the list
+     * @return the lazy list
+     */
+    public static <T> LazyElementList<T> list(Class<T> componentType, Locator locator, Class<?> pageObjectClass,
+                                              String fieldName) {
+        return new LazyElementList<>(locator, roots -> new ComponentList<>(componentType, roots.all()),
+                pageObjectClass, fieldName);
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type) {
+        try {
+            return type.getConstructor(Locator.class);
+        } catch (NoSuchMethodException e) {
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException noArgs) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Supplier creating its component once, on first call, also when called from several threads.
+     */
+    static final class LazyComponent<T> implements Supplier<T> {
+        private final Class<T> componentType;
+        private final Locator root;
+        private volatile T component;
+
+        private LazyComponent(Class<T> componentType, Locator root) {
+            this.componentType = componentType;
+            this.root = root;
+        }
+
+        /**
+         * @return true if the component was created
+         */
+        boolean isResolved() {
+            return component != null;
+        }
+
+        @Override
+        public T get() {
+            T result = component;
+            if (result == null) {
+                synchronized (this) {
+                    result = component;
+                    if (result == null) {
+                        result = create(componentType, root);
+                        component = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * List of components, creating the component of an element on first access.
+     */
+    private static final class ComponentList<T> extends AbstractList<T> {
+        private final Class<T> componentType;
+        private final List<Locator> roots;
+        private final Object[] components;
+
+        private ComponentList(Class<T> componentType, List<Locator> roots) {
+            this.componentType = componentType;
+            this.roots = roots;
+            this.components = new Object[roots.size()];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Object component = components[index];
+            if (component == null) {
+                component = create(componentType, roots.get(index));
+                components[index] = component;
+            }
+            return (T) component;
+        }
+
+        @Override
+        public int size() {
+            return roots.size();
+        }
+    }
+}
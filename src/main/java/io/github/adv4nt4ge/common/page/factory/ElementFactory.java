@@ -1,10 +1,12 @@
 package io.github.adv4nt4ge.common.page.factory;
 
+import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Factory class for creating Element objects based on provided field type.
@@ -21,10 +23,23 @@ public class ElementFactory {
         this.locatorFactory = new LocatorFactory(page);
     }
 
+    /**
+     * Constructs an ElementFactory creating the elements of a component inside its root element.
+     *
+     * @param root the Locator of the root element of the component
+     */
+    public ElementFactory(Locator root) {
+        this.locatorFactory = new LocatorFactory(root.page(), root);
+    }
+
     /**
      * Creates an Element based on the provided Field and page object instance.
      * If the type of the Field is Locator, a Locator is created.
-     * If the type of the Field is List, a list of Locators is created.
+     * If the type of the Field is {@code List<Locator>}, a lazy list of Locators is created.
+     * If the type of the Field is {@code List<ElementHandle>} or a raw List, a lazy list of ElementHandles is created.
+     * If the type of the Field is a component class, the component is created, rooted at the Locator of the Field.
+     * If the type of the Field is {@code Supplier<Component>}, the component is created on first call to the Supplier.
+     * If the type of the Field is {@code List<Component>}, a lazy list with one component per element is created.
      *
      * @param field the Field for which to create the Element
      * @param pageObjectInstance the instance of the page object for which to create the Element
@@ -34,9 +49,33 @@ public class ElementFactory {
     public Object createElement(Field field, Object pageObjectInstance) {
         if (Locator.class.equals(field.getType())) {
             return locatorFactory.createLocator(field, pageObjectInstance);
-        } else if (List.class.equals(field.getType())) {
-            return locatorFactory.createLocatorList(field, pageObjectInstance);
         }
-        throw new RuntimeException("Unsupported type: " + field.getType() + ". Supported types are Locator and List<Locator>.");
+
+        FieldBlueprint blueprint = PageBlueprint.of(pageObjectInstance.getClass()).getField(field);
+        Class<?> componentType = blueprint != null ? blueprint.getComponentType() : FieldBlueprint.componentType(field);
+        if (List.class.equals(field.getType())) {
+            Class<?> elementType = blueprint != null ? blueprint.getListElementType() : FieldBlueprint.listElementType(field);
+
+            if (Locator.class.equals(elementType)) {
+                return locatorFactory.createLocators(field, pageObjectInstance);
+            } else if (ElementHandle.class.equals(elementType)) {
+                return locatorFactory.createLocatorList(field, pageObjectInstance);
+            } else if (componentType != null) {
+                Locator root = locatorFactory.createLocator(field, pageObjectInstance);
+                return root == null ? null
+                        : ComponentFactory.list(componentType, root, pageObjectInstance.getClass(), field.getName());
+            }
+        } else if (componentType != null) {
+            Locator root = locatorFactory.createLocator(field, pageObjectInstance);
+            if (root == null) {
+                return null;
+            }
+            return Supplier.class.equals(field.getType())
+                    ? ComponentFactory.lazy(componentType, root)
+                    : ComponentFactory.create(componentType, root);
+        }
+        throw new RuntimeException("Unsupported type: " + field.getGenericType()
+                + ". Supported types are Locator, List<Locator>, List<ElementHandle> and component classes, "
+                + "as the type of the field, a Supplier or a List.");
     }
 }
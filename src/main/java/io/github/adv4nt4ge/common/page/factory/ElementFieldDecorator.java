@@ -1,5 +1,6 @@
 package io.github.adv4nt4ge.common.page.factory;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
 import java.lang.reflect.Field;
@@ -8,6 +9,8 @@ import java.lang.reflect.Field;
  * This class implements the FieldDecorator interface to decorate fields as elements.
  */
 public class ElementFieldDecorator implements FieldDecorator {
+    private final Page page;
+    private final Locator root;
     private final ElementFactory elementFactory;
 
     /**
@@ -17,9 +20,47 @@ public class ElementFieldDecorator implements FieldDecorator {
      * @param page The page to be used to create elements
      */
     public ElementFieldDecorator(Page page) {
+        this.page = page;
+        this.root = null;
         this.elementFactory = new ElementFactory(page);
     }
 
+    /**
+     * Returns the decorator of a page, created once and shared by all page objects of the page until it closes.
+     *
+     * @param page The page to be used to create elements
+     * @return the decorator of the page
+     */
+    public static ElementFieldDecorator of(Page page) {
+        return PageDecorators.of(page, ElementFieldDecorator.class, ElementFieldDecorator::new);
+    }
+
+    /**
+     * Constructor for the ElementFieldDecorator of a component.
+     * The elements are created inside the given root element.
+     *
+     * @param root The Locator of the root element of the component
+     */
+    public ElementFieldDecorator(Locator root) {
+        this.page = root.page();
+        this.root = root;
+        this.elementFactory = new ElementFactory(root);
+    }
+
+    /**
+     * @return the page used to create elements
+     */
+    Page getPage() {
+        return page;
+    }
+
+    /**
+     * @return the root element of the component, or null if the elements are created on the page
+     */
+    Locator getRoot() {
+        return root;
+    }
+
     /**
      * This method creates an element for a given field on a specific page object instance.
      *
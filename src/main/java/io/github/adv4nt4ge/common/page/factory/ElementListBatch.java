@@ -0,0 +1,148 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.ElementHandle;
+import com.microsoft.playwright.JSHandle;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import io.github.adv4nt4ge.common.page.factory.metrics.ElementQueryEvent;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the {@code List<ElementHandle>} fields of a page object together, in one browser round-trip.
+ * <p>
+ * The lists of a page object join the batch when the page object is initialized. When one of them is accessed first,
+ * all unresolved lists of the batch are queried by a single {@code evaluateHandle} call and filled with their elements.
+ * Lists whose locator can not be translated by {@link SelectorTranslator}, lists in frames and lists whose selector is
+ * rejected by the browser are not part of the batch and are queried by Playwright one by one.
+ */
+final class ElementListBatch {
+    /**
+     * Evaluates the steps of every field from the document, and returns all matched elements in one flat array with
+     * the number of elements of each field, or -1 for the fields whose selectors are invalid.
+     */
+    private static final String SCRIPT = "fields => {\n"
+            + "  const query = " + SelectorTranslator.QUERY + ";\n"
+            + "  const elements = [];\n"
+            + "  const counts = fields.map(steps => {\n"
+            + "    try {\n"
+            + "      const roots = query(document, steps);\n"
+            + "      elements.push(...roots);\n"
+            + "      return roots.length;\n"
+            + "    } catch (e) {\n"
+            + "      return -1;\n"
+            + "    }\n"
+            + "  });\n"
+            + "  return { elements, counts };\n"
+            + "}";
+
+    private final Page page;
+    private final Class<?> pageObjectClass;
+    private final List<LazyElementList<ElementHandle>> lists = new ArrayList<>();
+    private final List<List<Map<String, String>>> steps = new ArrayList<>();
+    private final List<String> fieldNames = new ArrayList<>();
+
+    private ElementListBatch(Page page, Class<?> pageObjectClass) {
+        this.page = page;
+        this.pageObjectClass = pageObjectClass;
+    }
+
+    /**
+     * Joins the {@code List<ElementHandle>} fields of the page object into a batch.
+     *
+     * @param pageObjectInstance the initialized page object
+     * @param page               the Page the fields were created for
+     */
+    @SuppressWarnings("unchecked")
+    static void attach(Object pageObjectInstance, Page page) {
+        PageBlueprint blueprint = PageBlueprint.of(pageObjectInstance.getClass());
+        ElementListBatch batch = new ElementListBatch(page, blueprint.getPageObjectClass());
+        for (FieldBlueprint field : blueprint.getFields()) {
+            if (field.getListElementType() != ElementHandle.class) {
+                continue;
+            }
+            Object value = field.getAccessor().get(pageObjectInstance);
+            if (!(value instanceof LazyElementList)) {
+                continue;
+            }
+            List<Map<String, String>> fieldSteps = SelectorTranslator.translate(blueprint, field);
+            if (fieldSteps != null) {
+                batch.lists.add((LazyElementList<ElementHandle>) value);
+                batch.steps.add(fieldSteps);
+                batch.fieldNames.add(field.getName());
+            }
+        }
+
+        if (batch.lists.size() > 1) {
+            batch.lists.forEach(list -> list.joinBatch(batch));
+        }
+    }
+
+    /**
+     * Queries the elements of all unresolved lists of the batch. Errors are not reported, the lists are then
+     * resolved one by one.
+     */
+    void resolve() {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isResolved()) {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ElementQueryEvent event = new ElementQueryEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+        List<List<Map<String, String>>> pendingSteps = pending.stream().map(steps::get).collect(Collectors.toList());
+        JSHandle result;
+        try {
+            result = page.evaluateHandle(SCRIPT, pendingSteps);
+        } catch (PlaywrightException e) {
+            return;
+        }
+
+        int total = 0;
+        try {
+            Map<String, JSHandle> properties = result.getProperties();
+            List<?> counts = (List<?>) properties.get("counts").jsonValue();
+            Map<String, JSHandle> elementHandles = properties.get("elements").getProperties();
+            ElementHandle[] elements = new ElementHandle[elementHandles.size()];
+            elementHandles.forEach((index, handle) -> {
+                if (isIndex(index)) {
+                    elements[Integer.parseInt(index)] = handle.asElement();
+                }
+            });
+
+            int offset = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                int count = ((Number) counts.get(i)).intValue();
+                if (count < 0) {
+                    continue;
+                }
+                List<ElementHandle> listElements = new ArrayList<>(count);
+                for (int j = offset; j < offset + count; j++) {
+                    listElements.add(elements[j]);
+                }
+                lists.get(pending.get(i)).setElements(listElements);
+                offset += count;
+                total += count;
+            }
+            properties.values().forEach(JSHandle::dispose);
+        } finally {
+            result.dispose();
+        }
+        PageFactoryMetrics.elementQueryDone(event, start, pageObjectClass,
+                pending.stream().map(fieldNames::get).collect(Collectors.joining(",")), null, total);
+    }
+
+    private static boolean isIndex(String key) {
+        return !key.isEmpty() && key.chars().allMatch(Character::isDigit);
+    }
+}
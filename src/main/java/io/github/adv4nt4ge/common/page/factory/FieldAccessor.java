@@ -0,0 +1,52 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads and writes a field of a page object.
+ * <p>
+ * Accessors are created once per field and kept in the {@link FieldBlueprint}. Instance fields of a reference type
+ * get a generated accessor, a hidden class reading and writing the field directly, which the JIT compiles like a
+ * getter and setter. Static and primitive fields are accessed through method handles, which are instance fields of
+ * the accessor and not constants, so the JIT does not inline them. Final fields, and fields of classes that can not be
+ * opened for private lookup, fall back to plain reflection.
+ */
+public interface FieldAccessor {
+
+    /**
+     * Reads the field.
+     *
+     * @param pageObjectInstance the instance of the page object to read the field from
+     * @return the value of the field
+     */
+    Object get(Object pageObjectInstance);
+
+    /**
+     * Writes the field.
+     *
+     * @param pageObjectInstance the instance of the page object to write the field to
+     * @param value              the value to write
+     */
+    void set(Object pageObjectInstance, Object value);
+
+    /**
+     * Creates an accessor for the specified field.
+     *
+     * @param field the field to access
+     * @return a generated or method handle based accessor if the field allows it, a reflection based accessor
+     * otherwise
+     * @throws IllegalStateException if the package of the field is not open to the page factory
+     */
+    static FieldAccessor of(Field field) {
+        if (!Modifier.isFinal(field.getModifiers())) {
+            try {
+                FieldAccessor accessor = GeneratedFieldAccessor.create(field);
+                return accessor != null ? accessor : new MethodHandleFieldAccessor(field);
+            } catch (IllegalAccessException | RuntimeException | LinkageError e) {
+                // The module of the page object does not open the package to us, use reflection instead
+            }
+        }
+        return new ReflectionFieldAccessor(field);
+    }
+}
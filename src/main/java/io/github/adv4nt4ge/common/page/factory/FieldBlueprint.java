@@ -0,0 +1,269 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.ElementHandle;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindAll;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.annotations.Frame;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidFindByException;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Immutable description of a single {@code @FindBy} field of a page object.
+ * Holds everything about the field that does not depend on the page object instance.
+ */
+public final class FieldBlueprint {
+    private final Field field;
+    private final FindBy findBy;
+    private final List<LocatorStrategy> strategies;
+    private final boolean ranked;
+    private final Parent parent;
+    private final Frame frame;
+    private final boolean fieldFrame;
+    private final List<String> frameScope;
+    private final FieldAccessor accessor;
+    private final Class<?> listElementType;
+    private final Class<?> componentType;
+
+    /**
+     * Reads the annotations of the specified field, outside of a page object: the field is in the frames of its own
+     * {@code @Frame} or of the {@code @Frame} of its class.
+     *
+     * @param field the field annotated with {@code @FindBy}
+     * @throws InvalidFindByException if more than one attribute of a {@code @FindBy} annotation is set
+     */
+    FieldBlueprint(Field field) {
+        this(field, frameScope(frame(field)));
+    }
+
+    /**
+     * Reads the annotations of the specified field, in the frames resolved by the {@link PageBlueprint} of its page
+     * object, which places a field with a {@code @Parent} in the frames of its parent.
+     *
+     * @param field      the field annotated with {@code @FindBy}
+     * @param frameScope the selectors of the frames of the field, outermost first
+     * @throws InvalidFindByException if more than one attribute of a {@code @FindBy} annotation is set
+     */
+    FieldBlueprint(Field field, List<String> frameScope) {
+        FindBy[] findBys = field.getAnnotationsByType(FindBy.class);
+        FindAll findAll = field.getAnnotation(FindAll.class);
+        this.field = field;
+        this.findBy = findBys.length == 0 ? null : findBys[0];
+        this.strategies = resolveStrategies(field, findBys);
+        this.ranked = findAll != null && findAll.ranked();
+        this.parent = field.getAnnotation(Parent.class);
+        this.frame = frame(field);
+        this.fieldFrame = field.isAnnotationPresent(Frame.class);
+        this.frameScope = frameScope;
+        this.accessor = FieldAccessor.of(field);
+        this.listElementType = listElementType(field);
+        this.componentType = componentType(field);
+    }
+
+    /**
+     * @param field a field
+     * @return true if the field is annotated with {@code @FindBy}, repeated or not, or with {@code @FindAll}
+     */
+    static boolean isFindByField(AnnotatedElement field) {
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindAll.class);
+    }
+
+    /**
+     * Returns the {@code @Frame} of a field: the annotation of the field, or of its declaring class.
+     *
+     * @param field the field
+     * @return the annotation, or null if neither the field nor its class is in a frame
+     */
+    static Frame frame(Field field) {
+        Frame fieldFrame = field.getAnnotation(Frame.class);
+        return fieldFrame != null ? fieldFrame : field.getDeclaringClass().getAnnotation(Frame.class);
+    }
+
+    /**
+     * Returns the selectors of the nested frames of a {@code @Frame} annotation.
+     *
+     * @param frame the annotation, or null
+     * @return the selectors, outermost first, or an empty list if there is no frame
+     */
+    static List<String> frameScope(Frame frame) {
+        return frame == null ? List.of() : List.of(frame.frame());
+    }
+
+    /**
+     * Returns the type of the elements of a {@code List} field. Raw lists are lists of {@code ElementHandle}.
+     *
+     * @param field the field
+     * @return the element type, or null if the field is not a {@code List}
+     */
+    static Class<?> listElementType(Field field) {
+        if (!List.class.equals(field.getType())) {
+            return null;
+        }
+        if (field.getGenericType() instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+            return Object.class;
+        }
+        return ElementHandle.class;
+    }
+
+    /**
+     * Returns the component class of a field of a component type, {@code Supplier<Component>} or
+     * {@code List<Component>}.
+     *
+     * @param field the field
+     * @return the component class, or null if the field does not hold components
+     */
+    static Class<?> componentType(Field field) {
+        Class<?> type = field.getType();
+        if (List.class.equals(type) || Supplier.class.equals(type)) {
+            Class<?> argument = typeArgument(field);
+            return argument != null && ComponentFactory.isComponentType(argument) ? argument : null;
+        }
+        return ComponentFactory.isComponentType(type) ? type : null;
+    }
+
+    private static Class<?> typeArgument(Field field) {
+        if (!(field.getGenericType() instanceof ParameterizedType)) {
+            return null;
+        }
+        Type argument = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        if (argument instanceof ParameterizedType) {
+            argument = ((ParameterizedType) argument).getRawType();
+        }
+        return argument instanceof Class ? (Class<?>) argument : null;
+    }
+
+    private static List<LocatorStrategy> resolveStrategies(Field field, FindBy[] findBys) {
+        List<LocatorStrategy> strategies = new ArrayList<>(findBys.length);
+        for (FindBy findBy : findBys) {
+            try {
+                LocatorStrategy strategy = LocatorStrategy.of(findBy);
+                if (strategy != null) {
+                    strategies.add(strategy);
+                }
+            } catch (InvalidFindByException e) {
+                String message = String.format("\n%s\nPage Object: %s\nField: %s",
+                        e.getMessage(), field.getDeclaringClass().getName(), field.getName());
+                throw new InvalidFindByException(message);
+            }
+        }
+        return List.copyOf(strategies);
+    }
+
+    /**
+     * @return the described field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return the name of the described field
+     */
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * @return the {@code @FindBy} annotation of the field, the first one if it is repeated
+     */
+    public FindBy getFindBy() {
+        return findBy;
+    }
+
+    /**
+     * @return the strategy resolved from the first non-empty {@code @FindBy} annotation, or null if the annotations
+     * are empty
+     */
+    public LocatorStrategy getStrategy() {
+        return strategies.isEmpty() ? null : strategies.get(0);
+    }
+
+    /**
+     * @return the strategies resolved from the repeated {@code @FindBy} annotations, in declaration order, or an empty
+     * list if the annotations are empty
+     */
+    public List<LocatorStrategy> getStrategies() {
+        return strategies;
+    }
+
+    /**
+     * @return true if the alternative strategies are probed in the order of their stats, see {@link FindAll#ranked()}
+     */
+    public boolean isRanked() {
+        return ranked;
+    }
+
+    /**
+     * @return the {@code @Parent} annotation of the field, or null if the field has no parent
+     */
+    public Parent getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the {@code @Frame} annotation of the field, or of the class declaring it, or null if it is not in a frame
+     */
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the selectors of the nested frames the field is in, outermost first. The Locator of a field with a
+     * {@code @Parent} is in the frames of the parent, and in the remaining frames of its own scope inside the parent.
+     *
+     * @return the selectors of the frames, or an empty list if the field is not in a frame
+     */
+    public List<String> getFrameScope() {
+        return frameScope;
+    }
+
+    /**
+     * @return true if the field itself is annotated with {@code @Frame}
+     */
+    public boolean hasFieldFrame() {
+        return fieldFrame;
+    }
+
+    /**
+     * @return the cached accessor used to read and write the field
+     */
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * @return the type of the elements if the field is a {@code List}, null otherwise
+     */
+    public Class<?> getListElementType() {
+        return listElementType;
+    }
+
+    /**
+     * @return the component class if the field holds a component, a {@code Supplier} of a component or a list of
+     * components, null otherwise
+     */
+    public Class<?> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * @return true if the field depends on another locator of the page object
+     */
+    public boolean hasParent() {
+        return parent != null;
+    }
+}
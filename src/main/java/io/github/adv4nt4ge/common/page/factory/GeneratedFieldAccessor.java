@@ -0,0 +1,158 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Defines, for one field, a hidden class implementing {@link FieldAccessor} with a plain {@code getfield} and
+ * {@code putfield}. The hidden class is a nestmate of the class declaring the field, so private fields are accessed
+ * directly, without access checks nor method handle invocation, and the JIT compiles each accessor like a hand-written
+ * getter and setter.
+ * <p>
+ * Only instance fields of a reference type are supported, the other fields keep the method handle accessor.
+ */
+final class GeneratedFieldAccessor {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String FIELD_ACCESSOR = FieldAccessor.class.getName().replace('.', '/');
+
+    private GeneratedFieldAccessor() {
+    }
+
+    /**
+     * Creates the accessor of a field.
+     *
+     * @param field the non-final field to access
+     * @return the accessor, or null if the field is static or primitive
+     * @throws IllegalAccessException if the declaring class can not be opened for private lookup, or the type of the
+     *                                field is not accessible from it
+     */
+    static FieldAccessor create(Field field) throws IllegalAccessException {
+        if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+            return null;
+        }
+        Class<?> owner = field.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        // The accessor casts to the field type, which must resolve from the declaring class
+        lookup.accessClass(field.getType());
+
+        MethodHandles.Lookup accessorLookup = lookup.defineHiddenClass(classBytes(field), true,
+                MethodHandles.Lookup.ClassOption.NESTMATE);
+        try {
+            return (FieldAccessor) accessorLookup.lookupClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the accessor of field " + field, e);
+        }
+    }
+
+    /**
+     * Writes the class file of the accessor: a public constructor, {@code get} casting the page object to the
+     * declaring class and reading the field, and {@code set} casting the value to the field type and writing it.
+     * No method has a branch, so no stack map frames are needed.
+     */
+    private static byte[] classBytes(Field field) {
+        String owner = internalName(field.getDeclaringClass());
+        Class<?> type = field.getType();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+
+            out.writeShort(24);
+            utf8(out, owner + "$FieldAccessor");                              // 1
+            classRef(out, 1);                                                     // 2
+            utf8(out, OBJECT);                                                    // 3
+            classRef(out, 3);                                                     // 4
+            utf8(out, FIELD_ACCESSOR);                                            // 5
+            classRef(out, 5);                                                     // 6
+            utf8(out, owner);                                                     // 7
+            classRef(out, 7);                                                     // 8
+            utf8(out, field.getName());                                           // 9
+            utf8(out, descriptor(type));                                          // 10
+            nameAndType(out, 9, 10);                                              // 11
+            memberRef(out, 9, 8, 11);                                             // 12 Fieldref
+            utf8(out, type.isArray() ? descriptor(type) : internalName(type));    // 13
+            classRef(out, 13);                                                    // 14
+            utf8(out, "<init>");                                                  // 15
+            utf8(out, "()V");                                                     // 16
+            nameAndType(out, 15, 16);                                             // 17
+            memberRef(out, 10, 4, 17);                                            // 18 Methodref
+            utf8(out, "get");                                                     // 19
+            utf8(out, "(Ljava/lang/Object;)Ljava/lang/Object;");                  // 20
+            utf8(out, "set");                                                     // 21
+            utf8(out, "(Ljava/lang/Object;Ljava/lang/Object;)V");                 // 22
+            utf8(out, "Code");                                                    // 23
+
+            out.writeShort(Modifier.PUBLIC | Modifier.FINAL | 0x0020);           // ACC_SUPER
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(1);
+            out.writeShort(6);
+            out.writeShort(0);
+
+            out.writeShort(3);
+            // aload_0, invokespecial Object.<init>, return
+            method(out, 15, 16, 1, 1, new byte[]{0x2A, (byte) 0xB7, 0, 18, (byte) 0xB1});
+            // aload_1, checkcast owner, getfield, areturn
+            method(out, 19, 20, 1, 2, new byte[]{0x2B, (byte) 0xC0, 0, 8, (byte) 0xB4, 0, 12, (byte) 0xB0});
+            // aload_1, checkcast owner, aload_2, checkcast type, putfield, return
+            method(out, 21, 22, 2, 3, new byte[]{0x2B, (byte) 0xC0, 0, 8, 0x2C, (byte) 0xC0, 0, 14,
+                    (byte) 0xB5, 0, 12, (byte) 0xB1});
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void classRef(DataOutputStream out, int name) throws IOException {
+        out.writeByte(7);
+        out.writeShort(name);
+    }
+
+    private static void nameAndType(DataOutputStream out, int name, int descriptor) throws IOException {
+        out.writeByte(12);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+    }
+
+    private static void memberRef(DataOutputStream out, int tag, int owner, int nameAndType) throws IOException {
+        out.writeByte(tag);
+        out.writeShort(owner);
+        out.writeShort(nameAndType);
+    }
+
+    private static void method(DataOutputStream out, int name, int descriptor, int maxStack, int maxLocals,
+                               byte[] code) throws IOException {
+        out.writeShort(Modifier.PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(23);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> type) {
+        return type.isArray() ? type.getName().replace('.', '/') : "L" + internalName(type) + ";";
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import io.github.adv4nt4ge.common.page.factory.metrics.InstrumentedLocators;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This class is a decorator that records the latency of the actions of the created Locators.
+ * The elements are created by the wrapped decorator, and every Locator, including the Locators of
+ * {@code List<Locator>} fields, is wrapped by {@link InstrumentedLocators}, so its actions are recorded per
+ * page object class, field and action in the {@link io.github.adv4nt4ge.common.page.factory.metrics.LocatorMetrics}.
+ */
+public class InstrumentingFieldDecorator implements FieldDecorator {
+    private final FieldDecorator delegate;
+
+    /**
+     * Constructor for the InstrumentingFieldDecorator.
+     * Instruments the elements created by an {@link ElementFieldDecorator} for the given page.
+     *
+     * @param page The page to be used to create elements
+     */
+    public InstrumentingFieldDecorator(Page page) {
+        this(new ElementFieldDecorator(page));
+    }
+
+    /**
+     * Returns the decorator instrumenting the elements of the shared {@link ElementFieldDecorator#of(Page)} of a
+     * page, created once and shared by all page objects of the page until it closes.
+     *
+     * @param page The page to be used to create elements
+     * @return the decorator of the page
+     */
+    public static InstrumentingFieldDecorator of(Page page) {
+        return PageDecorators.of(page, InstrumentingFieldDecorator.class,
+                decoratedPage -> new InstrumentingFieldDecorator(ElementFieldDecorator.of(decoratedPage)));
+    }
+
+    /**
+     * Constructor for the InstrumentingFieldDecorator.
+     *
+     * @param delegate The decorator creating the elements to instrument
+     */
+    public InstrumentingFieldDecorator(FieldDecorator delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * This method creates an element for a given field with the wrapped decorator and instruments it.
+     *
+     * @param field              The field for which to create an element
+     * @param pageObjectInstance The instance of the page object on which the field resides
+     * @return The created element for the specified field, instrumented if it is a Locator or a list of Locators
+     */
+    @Override
+    public Object decorate(Field field, Object pageObjectInstance) {
+        Object element = delegate.decorate(field, pageObjectInstance);
+        Class<?> pageObjectClass = pageObjectInstance.getClass();
+        if (element instanceof Locator) {
+            return InstrumentedLocators.wrap((Locator) element, pageObjectClass, field.getName());
+        }
+
+        FieldBlueprint blueprint = PageBlueprint.of(pageObjectClass).getField(field);
+        if (element instanceof LazyElementList && blueprint != null && blueprint.getListElementType() == Locator.class) {
+            Locator locator = ((LazyElementList<?>) element).getLocator();
+            return new LazyElementList<>(locator, list -> instrument(list.all(), pageObjectClass, field.getName()),
+                    pageObjectClass, field.getName());
+        }
+        return element;
+    }
+
+    private static List<Locator> instrument(List<Locator> locators, Class<?> pageObjectClass, String fieldName) {
+        return locators.stream()
+                .map(locator -> InstrumentedLocators.wrap(locator, pageObjectClass, fieldName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.ElementHandle;
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.metrics.ElementQueryEvent;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * List of the elements matching a Locator, resolved on first access instead of when the page object is created.
+ * <p>
+ * The list is not live: the elements are queried once, on first access, and kept until {@link #invalidate()} or
+ * {@link #refresh()} is called. Elements added to or removed from the page afterwards are not seen by {@link #size()}
+ * nor {@link #get(int)}, and a {@code Locator} of the list keeps pointing to the n-th match of its query. Invalidate
+ * or refresh the list after the page changed.
+ *
+ * @param <T> the type of the elements, {@code ElementHandle} or {@code Locator}
+ */
+public class LazyElementList<T> extends AbstractList<T> {
+    private final Locator locator;
+    private final Function<Locator, List<T>> resolver;
+    private final Class<?> pageObjectClass;
+    private final String fieldName;
+    private volatile List<T> elements;
+    private volatile ElementListBatch batch;
+
+    /**
+     * Constructs a LazyElementList with the specified Locator and resolver.
+     *
+     * @param locator  the Locator describing the elements
+     * @param resolver the Function querying the elements of the Locator
+     */
+    public LazyElementList(Locator locator, Function<Locator, List<T>> resolver) {
+        this(locator, resolver, null, null);
+    }
+
+    /**
+     * Constructs a LazyElementList for a field of a page object. The class and field names are reported with the
+     * queries of the elements.
+     *
+     * @param locator         the Locator describing the elements
+     * @param resolver        the Function querying the elements of the Locator
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     */
+    public LazyElementList(Locator locator, Function<Locator, List<T>> resolver, Class<?> pageObjectClass,
+                           String fieldName) {
+        this.locator = locator;
+        this.resolver = resolver;
+        this.pageObjectClass = pageObjectClass;
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Creates a list of the {@code ElementHandle} instances matching the Locator.
+     *
+     * @param locator the Locator describing the elements
+     * @return the lazy list
+     */
+    public static LazyElementList<ElementHandle> elementHandles(Locator locator) {
+        return new LazyElementList<>(locator, Locator::elementHandles);
+    }
+
+    /**
+     * Creates a list of the {@code ElementHandle} instances matching the Locator, for a field of a page object.
+     *
+     * @param locator         the Locator describing the elements
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     * @return the lazy list
+     */
+    public static LazyElementList<ElementHandle> elementHandles(Locator locator, Class<?> pageObjectClass,
+                                                                String fieldName) {
+        return new LazyElementList<>(locator, Locator::elementHandles, pageObjectClass, fieldName);
+    }
+
+    /**
+     * Creates a list of Locators pointing to the elements matching the Locator, as returned by {@link Locator#all()}.
+     *
+     * @param locator the Locator describing the elements
+     * @return the lazy list
+     */
+    public static LazyElementList<Locator> locators(Locator locator) {
+        return new LazyElementList<>(locator, Locator::all);
+    }
+
+    /**
+     * Creates a list of Locators pointing to the elements matching the Locator, for a field of a page object.
+     *
+     * @param locator         the Locator describing the elements
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     * @return the lazy list
+     */
+    public static LazyElementList<Locator> locators(Locator locator, Class<?> pageObjectClass, String fieldName) {
+        return new LazyElementList<>(locator, Locator::all, pageObjectClass, fieldName);
+    }
+
+    /**
+     * @return the Locator describing the elements
+     */
+    public Locator getLocator() {
+        return locator;
+    }
+
+    /**
+     * @return true if the elements were resolved and not invalidated since
+     */
+    public boolean isResolved() {
+        return elements != null;
+    }
+
+    /**
+     * Drops the resolved elements, so they are queried again on next access.
+     */
+    public void invalidate() {
+        elements = null;
+    }
+
+    /**
+     * Queries the elements again.
+     *
+     * @return this list
+     */
+    public LazyElementList<T> refresh() {
+        elements = query();
+        return this;
+    }
+
+    @Override
+    public T get(int index) {
+        return resolve().get(index);
+    }
+
+    @Override
+    public int size() {
+        return resolve().size();
+    }
+
+    /**
+     * Resolves the list together with the other lists of the batch when one of them is accessed.
+     *
+     * @param elementListBatch the batch of the page object
+     */
+    void joinBatch(ElementListBatch elementListBatch) {
+        this.batch = elementListBatch;
+    }
+
+    /**
+     * Sets the elements queried by the batch.
+     *
+     * @param resolvedElements the elements of the list
+     */
+    void setElements(List<T> resolvedElements) {
+        this.elements = resolvedElements;
+    }
+
+    private List<T> resolve() {
+        List<T> resolved = elements;
+        if (resolved == null && batch != null) {
+            batch.resolve();
+            resolved = elements;
+        }
+        if (resolved == null) {
+            resolved = query();
+            elements = resolved;
+        }
+        return resolved;
+    }
+
+    private List<T> query() {
+        ElementQueryEvent event = new ElementQueryEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+        List<T> result = resolver.apply(locator);
+        PageFactoryMetrics.elementQueryDone(event, start, pageObjectClass, fieldName, locator, result.size());
+        return result;
+    }
+}
@@ -4,24 +4,28 @@ import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.FrameLocator;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
-import io.github.adv4nt4ge.common.page.factory.annotations.Frame;
 import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+import io.github.adv4nt4ge.common.page.factory.metrics.ParentResolutionEvent;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Factory class for creating Locator objects based on provided annotations.
+ * <p>
+ * The factory keeps no state per field: the annotations of a field are read from its cached {@link FieldBlueprint},
+ * so one factory can create the Locators of any number of page objects of its Page, from several threads.
  */
 public class LocatorFactory {
-    Page page;
-    FindBy findBy;
-    Parent parentAnnotation;
-    Frame frameAnnotation;
-    Class<?> clazz;
+    final Page page;
+    final Locator root;
+    private final Map<List<String>, FrameLocator> frameLocators = new ConcurrentHashMap<>();
 
     /**
      * Constructs a LocatorFactory with the specified Page.
@@ -29,19 +33,43 @@ public class LocatorFactory {
      * @param page the Page object for which the LocatorFactory is to be created
      */
     public LocatorFactory(Page page) {
+        this(page, null);
+    }
+
+    /**
+     * Constructs a LocatorFactory creating the Locators of a component inside its root element.
+     *
+     * @param page the Page of the component
+     * @param root the Locator of the root element of the component
+     */
+    public LocatorFactory(Page page, Locator root) {
         this.page = page;
+        this.root = root;
     }
 
     /**
-     * Retrieves annotations from the provided Field and sets the corresponding class properties.
+     * Reads and validates the annotations of a field.
      *
      * @param field the Field from which to retrieve annotations
+     * @deprecated The factory keeps no state per field anymore: {@link #createLocator(Field, Object)} reads the
+     * annotations from the cached blueprint of the field, see {@link #getBlueprint(Field, Object)}.
      */
+    @Deprecated
     public void getAnnotation(Field field) {
-        this.clazz = field.getDeclaringClass();
-        this.findBy = field.getAnnotation(FindBy.class);
-        this.parentAnnotation = field.getAnnotation(Parent.class);
-        this.frameAnnotation = clazz.getAnnotation(Frame.class);
+        new FieldBlueprint(field);
+    }
+
+    /**
+     * Returns the blueprint of a field, from the cached blueprint of the page object class when the field is one of
+     * its {@code @FindBy} fields.
+     *
+     * @param field              the field
+     * @param pageObjectInstance the instance of the page object
+     * @return the blueprint of the field
+     */
+    protected FieldBlueprint getBlueprint(Field field, Object pageObjectInstance) {
+        FieldBlueprint blueprint = PageBlueprint.of(pageObjectInstance.getClass()).getField(field);
+        return blueprint != null ? blueprint : new FieldBlueprint(field);
     }
 
     /**
@@ -52,35 +80,81 @@ public class LocatorFactory {
      * @return the created Locator
      */
     public Locator createLocator(Field field, Object pageObjectInstance) {
-        getAnnotation(field);
-
-        if (frameAnnotation != null && parentAnnotation == null) {
-            FrameLocator frameLocator = page.frameLocator(frameAnnotation.frame());
-            return buildLocator(findBy, frameLocator::getByTestId, frameLocator::getByAltText,
-                    frameLocator::getByLabel, frameLocator::getByPlaceholder, frameLocator::getByText,
-                    frameLocator::getByTitle, frameLocator::locator);
+        FieldBlueprint blueprint = getBlueprint(field, pageObjectInstance);
+        if (blueprint.getStrategies().isEmpty()) {
+            return null;
         }
 
+        List<String> frameScope = blueprint.getFrameScope();
+        Parent parentAnnotation = blueprint.getParent();
         if (parentAnnotation == null) {
-            return buildLocator(findBy, page::getByTestId, page::getByAltText,
-                    page::getByLabel, page::getByPlaceholder, page::getByText,
-                    page::getByTitle, page::locator);
+            if (!frameScope.isEmpty()) {
+                FrameLocator frameLocator = getFrameLocator(frameScope);
+                return combine(blueprint, strategy -> strategy.resolve(frameLocator));
+            }
+            return root == null ? combine(blueprint, strategy -> strategy.resolve(page))
+                    : combine(blueprint, strategy -> strategy.resolve(root));
         }
 
+        ParentResolutionEvent event = new ParentResolutionEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+        Class<?> clazz = field.getDeclaringClass();
         Locator parentLocator = getParentLocator(clazz, parentAnnotation, pageObjectInstance);
-        return buildLocator(findBy, parentLocator::getByTestId, parentLocator::getByAltText,
-                parentLocator::getByLabel, parentLocator::getByPlaceholder, parentLocator::getByText,
-                parentLocator::getByTitle, parentLocator::locator);
+        List<String> parentFrameScope = getParentFrameScope(clazz, parentAnnotation, pageObjectInstance);
+        Locator locator;
+        if (frameScope.size() > parentFrameScope.size()) {
+            FrameLocator frameLocator = parentLocator.frameLocator(frameScope.get(parentFrameScope.size()));
+            for (int i = parentFrameScope.size() + 1; i < frameScope.size(); i++) {
+                frameLocator = frameLocator.frameLocator(frameScope.get(i));
+            }
+            FrameLocator innerFrameLocator = frameLocator;
+            locator = combine(blueprint, strategy -> strategy.resolve(innerFrameLocator));
+        } else {
+            locator = combine(blueprint, strategy -> strategy.resolve(parentLocator));
+        }
+        PageFactoryMetrics.parentResolutionDone(event, start, pageObjectInstance.getClass(), field.getName(),
+                parentAnnotation.value());
+        return locator;
     }
 
     /**
-     * This method is responsible for creating a list of {@code ElementHandle} instances based on a specified field and
-     * page object instance. The method first retrieves the annotation of the field. If there's no parent annotation,
-     * it builds a locator using various getBy methods defined in the page class and performs a query selector to return all
-     * elements matching the readable locator string.
-     * <p>
-     * If there's a parent annotation, it retrieves the parent locator, builds a locator using it, and performs a query
-     * selector to return all elements matching the readable locator string.
+     * Creates the Locator of a field from its strategies: the Locator of its only strategy, the Locators of
+     * alternative strategies combined with {@code or()}, or a {@link RankedLocator} for {@code @FindAll(ranked = true)}.
+     *
+     * @param blueprint the blueprint of the field
+     * @param resolver  creates the Locator of a strategy in the scope of the field
+     * @return the Locator of the field
+     */
+    protected Locator combine(FieldBlueprint blueprint, Function<LocatorStrategy, Locator> resolver) {
+        List<LocatorStrategy> strategies = blueprint.getStrategies();
+        Locator locator = resolver.apply(strategies.get(0));
+        if (strategies.size() == 1) {
+            return locator;
+        }
+        if (!blueprint.isRanked()) {
+            for (int i = 1; i < strategies.size(); i++) {
+                locator = locator.or(resolver.apply(strategies.get(i)));
+            }
+            return locator;
+        }
+        List<Locator> alternatives = new ArrayList<>(strategies.size());
+        alternatives.add(locator);
+        for (int i = 1; i < strategies.size(); i++) {
+            alternatives.add(resolver.apply(strategies.get(i)));
+        }
+        Field field = blueprint.getField();
+        List<String> keys = strategies.stream()
+                .map(strategy -> LocatorStats.key(field.getDeclaringClass().getName(), field.getName(),
+                        strategy.toString()))
+                .collect(Collectors.toList());
+        return RankedLocator.of(alternatives, keys);
+    }
+
+    /**
+     * Creates a list of {@code ElementHandle} instances based on a specified field and page object instance.
+     * The list is lazy: the elements matching the field's locator are queried on first access of the list,
+     * not while the page object is being created, and can be queried again with {@link LazyElementList#refresh()}.
      *
      * @param field              The field from which to create the locator list.
      * @param pageObjectInstance The object instance of the page where the elements will be located.
@@ -88,92 +162,91 @@ public class LocatorFactory {
      */
     public List<ElementHandle> createLocatorList(Field field, Object pageObjectInstance) {
         Locator element = createLocator(field, pageObjectInstance);
-        String readableLocator = getReadableLocator(element);
-        return page.querySelectorAll(readableLocator);
+        return element == null ? null
+                : LazyElementList.elementHandles(element, pageObjectInstance.getClass(), field.getName());
     }
 
     /**
-     * Retrieves the parent Locator of the specified Class and Under annotation from the provided page object instance.
+     * Creates a list of Locators, one for each element matching the locator of the specified field.
+     * The list is lazy and backed by {@link Locator#all()}, so no browser call is made until the list is accessed.
      *
-     * @param clazz              the Class for which to retrieve the parent Locator
-     * @param parentAnnotation   the Under annotation for which to retrieve the parent Locator
-     * @param pageObjectInstance the instance of the page object from which to retrieve the parent Locator
-     * @return the parent Locator
+     * @param field              The field from which to create the locator list.
+     * @param pageObjectInstance The object instance of the page where the elements will be located.
+     * @return A list of Locators pointing to the located elements on the page.
      */
-    protected Locator getParentLocator(Class<?> clazz, Parent parentAnnotation, Object pageObjectInstance) {
-        Locator locator;
-        try {
-            Field depField = clazz.getField(parentAnnotation.value());
-            locator = (Locator) depField.get(pageObjectInstance);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new RuntimeException(e.getCause());
-        }
-
-        return locator;
+    public List<Locator> createLocators(Field field, Object pageObjectInstance) {
+        Locator element = createLocator(field, pageObjectInstance);
+        return element == null ? null
+                : LazyElementList.locators(element, pageObjectInstance.getClass(), field.getName());
     }
 
     /**
-     * Builds a Locator based on the provided FindBy annotation and set of Functions.
-     * <p> <a href="https://playwright.dev/java/docs/locators">Learn more about locators</a>.
+     * Returns the FrameLocator of nested frames. The FrameLocators are created once per factory and shared by all
+     * fields in the same frames, the outer frames being shared by the inner ones. The frames of a component are
+     * located inside its root element.
      *
-     * @param findBy           the FindBy annotation based on which to build the Locator
-     * @param getByTestId      the Function to retrieve the Locator by locating an element based on its data-testid attribute.
-     * @param getByAltText     the Function to retrieve the Locator by locating an element, usually an image, by its text alternative.
-     * @param getByLabel       the Function to retrieve the Locator by locating a form control by associated label's text.
-     * @param getByPlaceholder the Function to retrieve the Locator by locating an input by placeholder.
-     * @param getByText        the Function to get the locator for searching by the content of the text.
-     * @param getByTitle       the Function to retrieve the Locator by locating an element by its title attribute.
-     * @param locator          the Function is used to create a locator that takes a selector that describes how to find an element on the page.
-     *                         Playwright supports both CSS and XPath selectors.
-     * @return the built Locator
+     * @param scope the selectors of the frames, outermost first
+     * @return the FrameLocator of the innermost frame
      */
-    protected Locator buildLocator(FindBy findBy, Function<String, Locator> getByTestId, Function<String, Locator> getByAltText,
-                                   Function<String, Locator> getByLabel, Function<String, Locator> getByPlaceholder,
-                                   Function<String, Locator> getByText, Function<String, Locator> getByTitle,
-                                   Function<String, Locator> locator) {
-
-        Map<String, Function<String, Locator>> findByMap = Map.of(
-                "testId", getByTestId,
-                "altText", getByAltText,
-                "label", getByLabel,
-                "placeholder", getByPlaceholder,
-                "text", getByText,
-                "title", getByTitle,
-                "locator", locator);
-
-        for (Map.Entry<String, Function<String, Locator>> entry : findByMap.entrySet()) {
-            String value = getByReflection(findBy, entry.getKey());
-            if (value != null && !"".equals(value)) {
-                return entry.getValue().apply(value);
+    protected FrameLocator getFrameLocator(List<String> scope) {
+        FrameLocator frameLocator = frameLocators.get(scope);
+        if (frameLocator == null) {
+            String selector = scope.get(scope.size() - 1);
+            if (scope.size() > 1) {
+                frameLocator = getFrameLocator(scope.subList(0, scope.size() - 1)).frameLocator(selector);
+            } else {
+                frameLocator = root == null ? page.frameLocator(selector) : root.frameLocator(selector);
+            }
+            FrameLocator existing = frameLocators.putIfAbsent(List.copyOf(scope), frameLocator);
+            if (existing != null) {
+                frameLocator = existing;
             }
         }
-        return null;
+        return frameLocator;
     }
 
     /**
-     * Retrieves a value from the provided FindBy annotation using the specified method name.
+     * Returns the frames of the parent of a field.
      *
-     * @param findBy the FindBy annotation from which
-     *               to retrieve the value
-     * @param method the name of the method to use to retrieve the value
-     * @return the retrieved value
+     * @param clazz              the Class declaring the field
+     * @param parentAnnotation   the Parent annotation of the field
+     * @param pageObjectInstance the instance of the page object
+     * @return the selectors of the frames of the parent, outermost first
      */
-    private String getByReflection(FindBy findBy, String method) {
+    protected List<String> getParentFrameScope(Class<?> clazz, Parent parentAnnotation, Object pageObjectInstance) {
+        FieldBlueprint parent = PageBlueprint.of(pageObjectInstance.getClass()).getField(parentAnnotation.value());
+        if (parent != null) {
+            return parent.getFrameScope();
+        }
         try {
-            return (String) findBy.getClass().getMethod(method).invoke(findBy);
-        } catch (Exception e) {
-            return "";
+            return FieldBlueprint.frameScope(FieldBlueprint.frame(clazz.getField(parentAnnotation.value())));
+        } catch (NoSuchFieldException e) {
+            throw new RuntimeException(e);
         }
     }
 
     /**
-     * This method transforms a given Playwright Locator object into a readable String format.
+     * Retrieves the parent Locator of the specified Class and Under annotation from the provided page object instance.
      *
-     * @param locator the Locator object to be transformed.
-     * @return a String representation of the locator, excluding the "Locator@" part from the toString representation.
-     * If the locator is null, it will return "Locator@".
+     * @param clazz              the Class for which to retrieve the parent Locator
+     * @param parentAnnotation   the Under annotation for which to retrieve the parent Locator
+     * @param pageObjectInstance the instance of the page object from which to retrieve the parent Locator
+     * @return the parent Locator
      */
-    private String getReadableLocator(Locator locator) {
-        return locator.toString().replace("Locator@", "");
+    protected Locator getParentLocator(Class<?> clazz, Parent parentAnnotation, Object pageObjectInstance) {
+        FieldBlueprint parent = PageBlueprint.of(pageObjectInstance.getClass()).getField(parentAnnotation.value());
+        if (parent != null) {
+            return (Locator) parent.getAccessor().get(pageObjectInstance);
+        }
+
+        Locator locator;
+        try {
+            Field depField = clazz.getField(parentAnnotation.value());
+            locator = (Locator) depField.get(pageObjectInstance);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        return locator;
     }
 }
@@ -6,10 +6,12 @@ import java.lang.reflect.Field;
 
 /**
  * This class is a decorator that helps in locating elements on a page.
+ * It keeps no state per field, so one decorator can initialize any number of page objects of its page, from
+ * several threads.
  */
 public class LocatorFieldDecorator implements FieldDecorator {
-    Page page;
-    LocatorFactory locatorFactory;
+    final Page page;
+    final LocatorFactory locatorFactory;
 
     /**
      * Constructor for the LocatorFieldDecorator.
@@ -22,6 +24,16 @@ public class LocatorFieldDecorator implements FieldDecorator {
         this.locatorFactory = new LocatorFactory(page);
     }
 
+    /**
+     * Returns the decorator of a page, created once and shared by all page objects of the page until it closes.
+     *
+     * @param page The page to be used to create locators
+     * @return the decorator of the page
+     */
+    public static LocatorFieldDecorator of(Page page) {
+        return PageDecorators.of(page, LocatorFieldDecorator.class, LocatorFieldDecorator::new);
+    }
+
     /**
      * This method creates a locator for a given field on a specific page object instance.
      *
@@ -0,0 +1,160 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Success and latency stats of the alternative selectors of {@link RankedLocator}, kept across runs.
+ * <p>
+ * The stats are loaded from {@code playwright.factory.locator.stats.file} ({@code target/locator-stats.properties}
+ * by default) on first use, and written back when the JVM ends.
+ */
+final class LocatorStats {
+    private static final LocatorStats SHARED = new LocatorStats(
+            Paths.get(Settings.getString("locator.stats.file", "target/locator-stats.properties")));
+
+    private final Path file;
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    LocatorStats(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * @return the stats shared by the JVM
+     */
+    static LocatorStats shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the key the stats of an alternative selector of a field are recorded under. Keying by the class and field
+     * keeps apart fields sharing a selector but not the markup, e.g. {@code .btn-primary} on two pages.
+     *
+     * @param owner    the binary name of the class declaring the field
+     * @param field    the name of the field
+     * @param selector the selector, as returned by {@link LocatorStrategy#toString()}
+     * @return the key
+     */
+    static String key(String owner, String field, String selector) {
+        return owner + "#" + field + " " + selector;
+    }
+
+    /**
+     * Records a probe of a selector.
+     *
+     * @param selector the key of the selector, as returned by {@link #key(String, String, String)}
+     * @param hit      true if the selector matched an element
+     * @param nanos    the duration of the probe
+     */
+    void record(String selector, boolean hit, long nanos) {
+        Stat stat = stats.computeIfAbsent(selector, key -> new Stat());
+        (hit ? stat.hits : stat.misses).increment();
+        stat.nanos.add(nanos);
+        if (saveScheduled.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save));
+        }
+    }
+
+    /**
+     * Orders the alternatives by the expected time to find the element when probing them in turn: the mean latency of
+     * a selector divided by its success rate, lowest first. Selectors never probed get the mean latency of the others
+     * and a success rate of one half, and ties keep the declaration order.
+     *
+     * @param selectors the keys of the alternative selectors, in declaration order
+     * @return the indexes of the selectors in probing order
+     */
+    int[] rank(List<String> selectors) {
+        double[] latencies = new double[selectors.size()];
+        double[] rates = new double[selectors.size()];
+        double knownLatency = 0;
+        int known = 0;
+        for (int i = 0; i < selectors.size(); i++) {
+            Stat stat = stats.get(selectors.get(i));
+            long probes = stat == null ? 0 : stat.hits.sum() + stat.misses.sum();
+            rates[i] = stat == null ? 0.5 : (stat.hits.sum() + 1.0) / (probes + 2.0);
+            latencies[i] = probes == 0 ? -1 : (double) stat.nanos.sum() / probes;
+            if (probes > 0) {
+                knownLatency += latencies[i];
+                known++;
+            }
+        }
+        double defaultLatency = known == 0 ? 1 : knownLatency / known;
+        double[] costs = new double[selectors.size()];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = (latencies[i] < 0 ? defaultLatency : latencies[i]) / rates[i];
+        }
+        return IntStream.range(0, selectors.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> costs[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(".hits")) {
+                continue;
+            }
+            String selector = key.substring(0, key.length() - ".hits".length());
+            try {
+                Stat stat = new Stat();
+                stat.hits.add(Long.parseLong(properties.getProperty(key)));
+                stat.misses.add(Long.parseLong(properties.getProperty(selector + ".misses", "0")));
+                stat.nanos.add(Long.parseLong(properties.getProperty(selector + ".nanos", "0")));
+                stats.put(selector, stat);
+            } catch (NumberFormatException e) {
+                // A corrupted entry only loses its history
+            }
+        }
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        stats.forEach((selector, stat) -> {
+            properties.setProperty(selector + ".hits", Long.toString(stat.hits.sum()));
+            properties.setProperty(selector + ".misses", Long.toString(stat.misses.sum()));
+            properties.setProperty(selector + ".nanos", Long.toString(stat.nanos.sum()));
+        });
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Probes of the alternative selectors, recorded by " + RankedLocator.class.getName());
+            }
+        } catch (IOException e) {
+            // The stats only order the probes of the next runs
+        }
+    }
+
+    private static final class Stat {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+}
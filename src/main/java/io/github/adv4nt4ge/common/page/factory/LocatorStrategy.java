@@ -0,0 +1,167 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.FrameLocator;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidFindByException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code @FindBy} annotation resolved into the strategy to use and its value.
+ * <p> <a href="https://playwright.dev/java/docs/locators">Learn more about locators</a>.
+ */
+public final class LocatorStrategy {
+
+    /**
+     * The supported ways to locate an element, in the order of the {@code @FindBy} attributes.
+     */
+    public enum Kind {
+        /**
+         * Locates an element based on its data-testid attribute.
+         */
+        TEST_ID,
+        /**
+         * Locates an element, usually an image, by its text alternative.
+         */
+        ALT_TEXT,
+        /**
+         * Locates a form control by associated label's text.
+         */
+        LABEL,
+        /**
+         * Locates an input by placeholder.
+         */
+        PLACEHOLDER,
+        /**
+         * Locates an element by the content of the text.
+         */
+        TEXT,
+        /**
+         * Locates an element by its title attribute.
+         */
+        TITLE,
+        /**
+         * Locates an element by a selector. Playwright supports both CSS and XPath selectors.
+         */
+        LOCATOR
+    }
+
+    private final Kind kind;
+    private final String value;
+
+    /**
+     * Constructs a LocatorStrategy with the specified kind and value.
+     *
+     * @param kind  the way to locate the element
+     * @param value the value to locate the element by
+     */
+    public LocatorStrategy(Kind kind, String value) {
+        this.kind = kind;
+        this.value = value;
+    }
+
+    /**
+     * Resolves the specified FindBy annotation into a LocatorStrategy.
+     *
+     * @param findBy the FindBy annotation to resolve
+     * @return the strategy, or null if no attribute of the annotation is set
+     * @throws InvalidFindByException if more than one attribute of the annotation is set
+     */
+    public static LocatorStrategy of(FindBy findBy) {
+        List<LocatorStrategy> strategies = new ArrayList<>();
+        add(strategies, Kind.TEST_ID, findBy.testId());
+        add(strategies, Kind.ALT_TEXT, findBy.altText());
+        add(strategies, Kind.LABEL, findBy.label());
+        add(strategies, Kind.PLACEHOLDER, findBy.placeholder());
+        add(strategies, Kind.TEXT, findBy.text());
+        add(strategies, Kind.TITLE, findBy.title());
+        add(strategies, Kind.LOCATOR, findBy.locator());
+
+        if (strategies.size() > 1) {
+            throw new InvalidFindByException("Only one attribute of @FindBy can be set, found: " + strategies);
+        }
+        return strategies.isEmpty() ? null : strategies.get(0);
+    }
+
+    private static void add(List<LocatorStrategy> strategies, Kind kind, String value) {
+        if (!value.isEmpty()) {
+            strategies.add(new LocatorStrategy(kind, value));
+        }
+    }
+
+    /**
+     * @return the way to locate the element
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the value to locate the element by
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Creates the Locator on the page.
+     *
+     * @param page the page to locate the element on
+     * @return the created Locator
+     */
+    public Locator resolve(Page page) {
+        return switch (kind) {
+            case TEST_ID -> page.getByTestId(value);
+            case ALT_TEXT -> page.getByAltText(value);
+            case LABEL -> page.getByLabel(value);
+            case PLACEHOLDER -> page.getByPlaceholder(value);
+            case TEXT -> page.getByText(value);
+            case TITLE -> page.getByTitle(value);
+            case LOCATOR -> page.locator(value);
+        };
+    }
+
+    /**
+     * Creates the Locator inside the frame.
+     *
+     * @param frameLocator the frame to locate the element in
+     * @return the created Locator
+     */
+    public Locator resolve(FrameLocator frameLocator) {
+        return switch (kind) {
+            case TEST_ID -> frameLocator.getByTestId(value);
+            case ALT_TEXT -> frameLocator.getByAltText(value);
+            case LABEL -> frameLocator.getByLabel(value);
+            case PLACEHOLDER -> frameLocator.getByPlaceholder(value);
+            case TEXT -> frameLocator.getByText(value);
+            case TITLE -> frameLocator.getByTitle(value);
+            case LOCATOR -> frameLocator.locator(value);
+        };
+    }
+
+    /**
+     * Creates the Locator under the parent Locator.
+     *
+     * @param parent the Locator to locate the element under
+     * @return the created Locator
+     */
+    public Locator resolve(Locator parent) {
+        return switch (kind) {
+            case TEST_ID -> parent.getByTestId(value);
+            case ALT_TEXT -> parent.getByAltText(value);
+            case LABEL -> parent.getByLabel(value);
+            case PLACEHOLDER -> parent.getByPlaceholder(value);
+            case TEXT -> parent.getByText(value);
+            case TITLE -> parent.getByTitle(value);
+            case LOCATOR -> parent.locator(value);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return kind + "=" + value;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Accessor backed by a getter and a setter method handle adapted to erased types, so they can be invoked exactly.
+ */
+final class MethodHandleFieldAccessor implements FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    MethodHandleFieldAccessor(Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle fieldGetter = lookup.unreflectGetter(field);
+        MethodHandle fieldSetter = lookup.unreflectSetter(field);
+
+        if (Modifier.isStatic(field.getModifiers())) {
+            fieldGetter = MethodHandles.dropArguments(fieldGetter, 0, Object.class);
+            fieldSetter = MethodHandles.dropArguments(fieldSetter, 0, Object.class);
+        }
+
+        this.field = field;
+        this.getter = fieldGetter.asType(GETTER_TYPE);
+        this.setter = fieldSetter.asType(SETTER_TYPE);
+    }
+
+    @Override
+    public Object get(Object pageObjectInstance) {
+        try {
+            return (Object) getter.invokeExact(pageObjectInstance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Unable to read field " + field, e);
+        }
+    }
+
+    @Override
+    public void set(Object pageObjectInstance, Object value) {
+        try {
+            setter.invokeExact(pageObjectInstance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Unable to write field " + field, e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import io.github.adv4nt4ge.common.page.factory.annotations.Frame;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidFindByException;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidParentLocatorException;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable description of a page object class: its {@code @FindBy} fields and the ones of its superclasses,
+ * in the order they have to be initialized.
+ * <p>
+ * A blueprint is computed once per class and cached for the lifetime of the class, so the reflection cost
+ * of scanning a page object is paid once per JVM instead of on every {@link PageFactory#initElements} call.
+ */
+public final class PageBlueprint {
+    private static final ClassValue<PageBlueprint> BLUEPRINTS = new ClassValue<>() {
+        @Override
+        protected PageBlueprint computeValue(Class<?> type) {
+            return new PageBlueprint(type);
+        }
+    };
+
+    private final Class<?> pageObjectClass;
+    private final List<FieldBlueprint> fields;
+    private final List<List<FieldBlueprint>> fieldGroups;
+    private final Map<Field, FieldBlueprint> fieldsByField;
+    private final Map<String, FieldBlueprint> fieldsByName;
+
+    private PageBlueprint(Class<?> pageObjectClass) {
+        this.pageObjectClass = pageObjectClass;
+        this.fields = Collections.unmodifiableList(orderFields(pageObjectClass));
+
+        Map<Field, FieldBlueprint> byField = new HashMap<>();
+        Map<String, FieldBlueprint> byName = new HashMap<>();
+        for (FieldBlueprint field : fields) {
+            byField.put(field.getField(), field);
+            byName.put(field.getName(), field);
+        }
+        this.fieldsByField = Collections.unmodifiableMap(byField);
+        this.fieldsByName = Collections.unmodifiableMap(byName);
+        this.fieldGroups = groupFields(fields, byName);
+    }
+
+    /**
+     * Returns the blueprint of the specified page object class, analysing the class on first use.
+     *
+     * @param pageObjectClass the page object class
+     * @return the cached blueprint of the class
+     * @throws InvalidParentLocatorException if a {@code @Parent} dependency of the class can not be resolved
+     * @throws InvalidFindByException        if a {@code @FindBy} annotation of the class sets more than one attribute
+     */
+    public static PageBlueprint of(Class<?> pageObjectClass) {
+        return BLUEPRINTS.get(pageObjectClass);
+    }
+
+    /**
+     * @return the described page object class
+     */
+    public Class<?> getPageObjectClass() {
+        return pageObjectClass;
+    }
+
+    /**
+     * @return the {@code @FindBy} fields in initialization order
+     */
+    public List<FieldBlueprint> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the fields split into independent groups: a field is in the group of its {@code @Parent}, so the groups
+     * share no dependency and can be initialized concurrently.
+     *
+     * @return the groups of fields, each in initialization order
+     */
+    public List<List<FieldBlueprint>> getFieldGroups() {
+        return fieldGroups;
+    }
+
+    /**
+     * Returns the blueprint of the specified field.
+     *
+     * @param field the field declared by the page object class or one of its superclasses
+     * @return the blueprint of the field, or null if the field is not a {@code @FindBy} field of this class
+     */
+    public FieldBlueprint getField(Field field) {
+        return fieldsByField.get(field);
+    }
+
+    /**
+     * Returns the blueprint of the field with the specified name.
+     *
+     * @param name the name of a {@code @FindBy} field of the class or one of its superclasses
+     * @return the blueprint of the field, or null if there is no such field
+     */
+    public FieldBlueprint getField(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Collects the {@code @FindBy} fields of the class hierarchy and sorts them topologically, so every field comes
+     * after the field named by its {@code @Parent} annotation. Base class fields come first and the declaration
+     * order is kept otherwise. A parent can be declared anywhere in the hierarchy and can have any visibility;
+     * when a subclass hides a field of a superclass, the name refers to the subclass field.
+     * <p>
+     * Every field is visited once, so the cost is linear in the number of fields.
+     *
+     * @param pageObjectClass the page object class
+     * @return the fields in initialization order
+     * @throws InvalidParentLocatorException if a parent does not exist, is not in the frames of its child or the
+     *                                       parents form a cycle
+     */
+    private static List<FieldBlueprint> orderFields(Class<?> pageObjectClass) {
+        List<Class<?>> classes = new ArrayList<>();
+        Class<?> current = pageObjectClass;
+
+        while (current != null && current != Object.class) {
+            classes.add(current);
+            current = current.getSuperclass();
+        }
+        Collections.reverse(classes);
+
+        List<Field> declared = new ArrayList<>();
+        Map<String, Field> byName = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (FieldBlueprint.isFindByField(field)) {
+                    declared.add(field);
+                    byName.put(field.getName(), field);
+                }
+            }
+        }
+
+        List<String> unresolved = new ArrayList<>();
+        for (Field field : declared) {
+            Parent parent = field.getAnnotation(Parent.class);
+            if (parent != null && !byName.containsKey(parent.value())) {
+                unresolved.add(field.getName() + " (@Parent(\"" + parent.value() + "\"))");
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            String message = String.format(
+                    "\nUnable to find dependencies for the following Fields:\nPage Object: %s\nFields: %s",
+                    pageObjectClass.getName(), String.join(", ", unresolved));
+            throw new InvalidParentLocatorException(message);
+        }
+
+        List<Field> ordered = new ArrayList<>(declared.size());
+        Set<Field> done = new HashSet<>();
+        Set<Field> inProgress = new HashSet<>();
+        Deque<Field> path = new ArrayDeque<>();
+
+        for (Field field : declared) {
+            Field next = field;
+            while (next != null && !done.contains(next)) {
+                if (!inProgress.add(next)) {
+                    throw new InvalidParentLocatorException(cycleMessage(pageObjectClass, path, next));
+                }
+                path.push(next);
+                Parent parent = next.getAnnotation(Parent.class);
+                next = parent != null ? byName.get(parent.value()) : null;
+            }
+
+            while (!path.isEmpty()) {
+                Field resolved = path.pop();
+                inProgress.remove(resolved);
+                done.add(resolved);
+                ordered.add(resolved);
+            }
+        }
+
+        return createBlueprints(pageObjectClass, ordered, byName);
+    }
+
+    /**
+     * Creates the blueprints of the fields, parents first, placing the fields with a {@code @Parent} in frames. A
+     * child whose frames, from its own {@code @Frame} or from the {@code @Frame} of its class, are inside the frames
+     * of its parent is located in the remaining frames inside the parent. A child without its own {@code @Frame} is
+     * otherwise in the frames of its parent.
+     *
+     * @param pageObjectClass the page object class
+     * @param ordered         the fields in initialization order, parents first
+     * @param byName          the fields by name
+     * @return the blueprints of the fields, in the same order
+     * @throws InvalidParentLocatorException if the own {@code @Frame} of a field is not inside the frames of its parent
+     */
+    private static List<FieldBlueprint> createBlueprints(Class<?> pageObjectClass, List<Field> ordered,
+                                                         Map<String, Field> byName) {
+        List<FieldBlueprint> blueprints = new ArrayList<>(ordered.size());
+        Map<Field, FieldBlueprint> byField = new HashMap<>();
+        List<String> outOfFrame = new ArrayList<>();
+        for (Field field : ordered) {
+            List<String> scope = FieldBlueprint.frameScope(FieldBlueprint.frame(field));
+            Parent parent = field.getAnnotation(Parent.class);
+            if (parent != null) {
+                List<String> parentScope = byField.get(byName.get(parent.value())).getFrameScope();
+                boolean insideParent = scope.size() >= parentScope.size()
+                        && scope.subList(0, parentScope.size()).equals(parentScope);
+                if (!insideParent && field.isAnnotationPresent(Frame.class)) {
+                    outOfFrame.add(field.getName() + " (@Frame " + scope + ", @Parent(\"" + parent.value()
+                            + "\") @Frame " + parentScope + ")");
+                } else if (!insideParent) {
+                    scope = parentScope;
+                }
+            }
+            FieldBlueprint blueprint = new FieldBlueprint(field, scope);
+            blueprints.add(blueprint);
+            byField.put(field, blueprint);
+        }
+        if (!outOfFrame.isEmpty()) {
+            String message = String.format(
+                    "\nThe frames of the following Fields are not inside the frames of their @Parent:\nPage Object: %s\nFields: %s",
+                    pageObjectClass.getName(), String.join(", ", outOfFrame));
+            throw new InvalidParentLocatorException(message);
+        }
+        return blueprints;
+    }
+
+    private static List<List<FieldBlueprint>> groupFields(List<FieldBlueprint> ordered,
+                                                          Map<String, FieldBlueprint> byName) {
+        Map<FieldBlueprint, List<FieldBlueprint>> groups = new LinkedHashMap<>();
+        Map<FieldBlueprint, List<FieldBlueprint>> groupOf = new HashMap<>();
+        for (FieldBlueprint field : ordered) {
+            List<FieldBlueprint> group = field.hasParent() ? groupOf.get(byName.get(field.getParent().value())) : null;
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(field, group);
+            }
+            group.add(field);
+            groupOf.put(field, group);
+        }
+        return groups.values().stream().map(Collections::unmodifiableList).collect(Collectors.toUnmodifiableList());
+    }
+
+    private static String cycleMessage(Class<?> pageObjectClass, Deque<Field> path, Field start) {
+        List<Field> chain = new ArrayList<>(path);
+        Collections.reverse(chain);
+        String cycle = chain.subList(chain.indexOf(start), chain.size()).stream()
+                .map(Field::getName)
+                .collect(Collectors.joining(" -> ", "", " -> " + start.getName()));
+        return String.format("\nCycle in @Parent dependencies:\nPage Object: %s\nFields: %s",
+                pageObjectClass.getName(), cycle);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.Page;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps one decorator per Page and decorator class, shared by all page objects of the Page. The built-in decorators
+ * keep no state per field, so they are safe for concurrent use.
+ * <p>
+ * The decorators reference their Page, so the entry of a Page is removed when the Page closes.
+ */
+final class PageDecorators {
+    private static final Map<Page, Map<Class<?>, FieldDecorator>> DECORATORS = new WeakHashMap<>();
+
+    private PageDecorators() {
+    }
+
+    /**
+     * Returns the decorator of the specified class for the Page, creating it on first use.
+     *
+     * @param <D>     the type of the decorator
+     * @param page    the Page of the decorator
+     * @param type    the class of the decorator
+     * @param factory creates the decorator for the Page
+     * @return the decorator shared by the page objects of the Page
+     */
+    static <D extends FieldDecorator> D of(Page page, Class<D> type, Function<Page, D> factory) {
+        Map<Class<?>, FieldDecorator> decorators;
+        boolean added = false;
+        synchronized (DECORATORS) {
+            decorators = DECORATORS.get(page);
+            if (decorators == null) {
+                decorators = new ConcurrentHashMap<>();
+                DECORATORS.put(page, decorators);
+                added = true;
+            }
+        }
+        if (added) {
+            // Registered outside the lock, the handler may run on another thread and take it
+            page.onClose(closed -> {
+                synchronized (DECORATORS) {
+                    DECORATORS.remove(page);
+                }
+            });
+        }
+        return type.cast(decorators.computeIfAbsent(type, decoratorType -> factory.apply(page)));
+    }
+}
@@ -1,22 +1,23 @@
 package io.github.adv4nt4ge.common.page.factory;
 
 import com.microsoft.playwright.Page;
-import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
-import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
-import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidParentLocatorException;
+import io.github.adv4nt4ge.common.page.factory.metrics.FieldDecorationEvent;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageInitEvent;
+import io.github.adv4nt4ge.common.utils.Settings;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * This class is used to instantiate and initialize the Page Objects.
  */
 public class PageFactory {
+    private static final boolean BATCH_LISTS = Settings.getBoolean("lists.batch", false);
+
     /**
      * Creates an instance of the specified class and initializes its fields.
      *
@@ -26,7 +27,7 @@ public class PageFactory {
      * @return an instance of the class
      */
     public static <T> T create(Class<T> pageToCreate, Page page) {
-        return instantiatePage(pageToCreate, page, new LocatorFieldDecorator(page));
+        return instantiatePage(pageToCreate, page, LocatorFieldDecorator.of(page), null);
     }
 
     /**
@@ -39,7 +40,22 @@ public class PageFactory {
      * @return an instance of the class
      */
     public static <T> T create(Class<T> pageToCreate, Page page, FieldDecorator decorator) {
-        return instantiatePage(pageToCreate, page, decorator);
+        return instantiatePage(pageToCreate, page, decorator, null);
+    }
+
+    /**
+     * Creates an instance of the specified class and initializes its independent fields concurrently.
+     *
+     * @param <T>          the type of the page object
+     * @param pageToCreate the class to instantiate
+     * @param page         the Page object to use in the constructor
+     * @param decorator    the FieldDecorator to use, it must be safe for concurrent use
+     * @param executor     the Executor initializing the groups of fields
+     * @return an instance of the class
+     * @see #initElements(Object, FieldDecorator, Executor)
+     */
+    public static <T> T create(Class<T> pageToCreate, Page page, FieldDecorator decorator, Executor executor) {
+        return instantiatePage(pageToCreate, page, decorator, executor);
     }
 
     /**
@@ -49,7 +65,7 @@ public class PageFactory {
      * @param page       the Page object to use in the constructor
      */
     public static void initElements(Object pageObject, Page page) {
-        initElements(pageObject, new LocatorFieldDecorator(page));
+        initElements(pageObject, LocatorFieldDecorator.of(page));
     }
 
     /**
@@ -59,28 +75,97 @@ public class PageFactory {
      * @param decorator  the FieldDecorator to use
      */
     public static void initElements(Object pageObject, FieldDecorator decorator) {
-        initElements(decorator, pageObject);
+        initElements(decorator, pageObject, null);
+    }
+
+    /**
+     * Initializes fields in the page object, the independent fields concurrently. The fields are split into the
+     * groups of {@link PageBlueprint#getFieldGroups()}, a field being initialized after its {@code @Parent}, and each
+     * group is initialized by a task of the executor. The call returns once all fields are set.
+     * <p>
+     * Creating a Locator makes no browser call, so this pays off for decorators or components doing blocking work.
+     * Generated initializers are not split and run on the calling thread.
+     *
+     * @param pageObject the object whose fields to initialize
+     * @param decorator  the FieldDecorator to use, it must be safe for concurrent use
+     * @param executor   the Executor initializing the groups of fields
+     */
+    public static void initElements(Object pageObject, FieldDecorator decorator, Executor executor) {
+        initElements(decorator, pageObject, executor);
+    }
+
+    /**
+     * Drops the elements resolved by the lazy {@code List} fields of the page object and of its components, so they
+     * are queried again on next access. Locator fields need no refresh, they are resolved on every action.
+     *
+     * @param pageObject the page object whose lists to invalidate
+     */
+    public static void invalidateElements(Object pageObject) {
+        for (FieldBlueprint field : PageBlueprint.of(pageObject.getClass()).getFields()) {
+            if (field.getListElementType() != null || field.getComponentType() != null) {
+                Object value = field.getAccessor().get(pageObject);
+                if (value instanceof LazyElementList) {
+                    ((LazyElementList<?>) value).invalidate();
+                } else if (value instanceof ComponentFactory.LazyComponent) {
+                    if (((ComponentFactory.LazyComponent<?>) value).isResolved()) {
+                        invalidateElements(((ComponentFactory.LazyComponent<?>) value).get());
+                    }
+                } else if (value != null && field.getComponentType() == value.getClass()) {
+                    invalidateElements(value);
+                }
+            }
+        }
     }
 
     /**
      * Initializes elements of the page object instance using a field decorator.
+     * The fields to initialize and their order are taken from the cached {@link PageBlueprint} of the class.
+     * When the built-in {@link ElementFieldDecorator} of a page is used and a {@link PageInitializer} was generated
+     * for the class, the generated initializer is used instead. It sets the fields without decorating them one by
+     * one, so no {@code FieldDecoration} nor {@code ParentResolution} event is emitted for them.
      *
      * @param decorator          the decorator to use for field initialization
      * @param pageObjectInstance the instance of the page object to initialize
+     * @param executor           the Executor initializing the groups of fields, or null to initialize them in order
      */
-    private static void initElements(FieldDecorator decorator, Object pageObjectInstance) {
-        List<Class<?>> classes = new ArrayList<>();
+    private static void initElements(FieldDecorator decorator, Object pageObjectInstance, Executor executor) {
         Class<?> pageObjectClass = pageObjectInstance.getClass();
+        PageInitEvent event = new PageInitEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+
+        Page page = getBuiltInDecoratorPage(decorator);
+        if (page != null && decorator.getClass() == ElementFieldDecorator.class) {
+            PageInitializer<Object> initializer = PageInitializers.of(pageObjectClass);
+            if (initializer != null) {
+                initializer.initElements(pageObjectInstance, page);
+                batchLists(pageObjectInstance, page);
+                PageFactoryMetrics.pageInitDone(event, start, pageObjectClass, true);
+                return;
+            }
+        }
 
-        while (pageObjectClass != Object.class) {
-            classes.add(pageObjectClass);
-            pageObjectClass = pageObjectClass.getSuperclass();
+        PageBlueprint blueprint = PageBlueprint.of(pageObjectClass);
+        if (executor == null || blueprint.getFieldGroups().size() < 2) {
+            setFields(decorator, blueprint.getFields(), pageObjectInstance);
+        } else {
+            setFieldsConcurrently(decorator, blueprint.getFieldGroups(), pageObjectInstance, executor);
         }
+        batchLists(pageObjectInstance, page);
+        PageFactoryMetrics.pageInitDone(event, start, pageObjectClass, false);
+    }
 
-        // Initialize in reverse order so base classes get initialized first
-        // so its fields are available to child classes
-        Collections.reverse(classes);
-        proxyFields(decorator, pageObjectInstance, classes);
+    /**
+     * Joins the {@code List<ElementHandle>} fields of the page object into an {@link ElementListBatch}, so they are
+     * resolved in one browser round-trip ({@code -Dplaywright.factory.lists.batch=true}, built-in decorators only).
+     *
+     * @param pageObjectInstance the initialized page object
+     * @param page               the page of the built-in decorator, or null for custom decorators
+     */
+    private static void batchLists(Object pageObjectInstance, Page page) {
+        if (BATCH_LISTS && page != null) {
+            ElementListBatch.attach(pageObjectInstance, page);
+        }
     }
 
     /**
@@ -90,9 +175,11 @@ public class PageFactory {
      * @param pageObjectClass the class to instantiate
      * @param page            the Page object to use in the constructor
      * @param decorator       the FieldDecorator to use
+     * @param executor        the Executor initializing the groups of fields, or null to initialize them in order
      * @return an instance of the page object class
      */
-    private static <T> T instantiatePage(Class<T> pageObjectClass, Page page, FieldDecorator decorator) {
+    private static <T> T instantiatePage(Class<T> pageObjectClass, Page page, FieldDecorator decorator,
+                                         Executor executor) {
         try {
             T pageObjectInstance;
             try {
@@ -101,7 +188,7 @@ public class PageFactory {
             } catch (NoSuchMethodException e) {
                 pageObjectInstance = pageObjectClass.getDeclaredConstructor().newInstance();
             }
-            initElements(decorator, pageObjectInstance);
+            initElements(decorator, pageObjectInstance, executor);
             return pageObjectInstance;
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
@@ -109,97 +196,78 @@ public class PageFactory {
     }
 
     /**
-     * Proxies fields in the given list of classes for the specified page object instance.
+     * Returns the page of a built-in decorator. Generated initializers create the same elements as the
+     * {@link ElementFieldDecorator} of a page, lazy lists and components included, so they must not be used in place
+     * of custom decorators, nor of the {@link LocatorFieldDecorator}, which only creates Locators, nor for components,
+     * which are created inside their root element.
      *
-     * @param decorator          the decorator to use for field initialization
-     * @param pageObjectInstance the instance of the page object to proxy fields for
-     * @param classes            the list of classes to proxy fields for
+     * @param decorator the decorator to use for field initialization
+     * @return the page of the decorator, or null if the decorator is not a built-in one
      */
-    private static void proxyFields(FieldDecorator decorator, Object pageObjectInstance, List<Class<?>> classes) {
-        HashSet<String> fieldNamesAlreadyProxied = new HashSet<>();
-        List<Field> fieldsWithDependencies = new ArrayList<>();
-
-        for (Class<?> pageObjectClass : classes) {
-            Field[] fields = pageObjectClass.getDeclaredFields();
-
-            for (Field field : fields) {
-                if (isALocator(field)) {
-                    if (hasDependencies(field)) {
-                        fieldsWithDependencies.add(field);
-                        continue;
-                    }
-                    setField(decorator, field, pageObjectInstance);
-                    fieldNamesAlreadyProxied.add(field.getName());
-                }
-            }
-
-            int sizeBefore;
-            while (!fieldsWithDependencies.isEmpty()) {
-                sizeBefore = fieldsWithDependencies.size();
-                List<Field> proxiedScopedFields = new ArrayList<>();
-
-                for (Field field : fieldsWithDependencies) {
-                    List<String> dependencyNames = Collections.singletonList(field.getAnnotation(Parent.class).value());
-
-                    if (fieldNamesAlreadyProxied.containsAll(dependencyNames)) {
-                        setField(decorator, field, pageObjectInstance);
-                        fieldNamesAlreadyProxied.add(field.getName());
-                        proxiedScopedFields.add(field);
-                    }
-                }
-
-                for (Field proxied : proxiedScopedFields) {
-                    fieldsWithDependencies.remove(proxied);
-                }
-
-                if (sizeBefore == fieldsWithDependencies.size()) {
-                    String fieldNames = fieldsWithDependencies.stream().map(Field::getName).collect(Collectors.joining(", "));
-                    String message = String.format(
-                            "\nUnable to find dependencies for the following Fields:\nPage Object: %s\nFields: %s",
-                            pageObjectClass.getName(), fieldNames);
-
-                    throw new InvalidParentLocatorException(message);
-                }
-            }
+    private static Page getBuiltInDecoratorPage(FieldDecorator decorator) {
+        if (decorator.getClass() == LocatorFieldDecorator.class) {
+            return ((LocatorFieldDecorator) decorator).page;
         }
+        if (decorator.getClass() == ElementFieldDecorator.class && ((ElementFieldDecorator) decorator).getRoot() == null) {
+            return ((ElementFieldDecorator) decorator).getPage();
+        }
+        return null;
     }
 
-    /**
-     * Checks if a field has dependencies.
-     *
-     * @param field the field to check
-     * @return true if the field has dependencies, false otherwise
-     */
-    private static boolean hasDependencies(Field field) {
-        return field.isAnnotationPresent(Parent.class);
+    private static void setFields(FieldDecorator decorator, List<FieldBlueprint> fields, Object pageObjectInstance) {
+        for (FieldBlueprint field : fields) {
+            setField(decorator, field, pageObjectInstance);
+        }
     }
 
     /**
-     * Checks if a field is a locator.
+     * Sets the groups of fields in tasks of the executor, the last group on the calling thread, and waits for all of
+     * them. The first failure is rethrown.
      *
-     * @param field the field to check
-     * @return true if the field is a locator, false otherwise
+     * @param decorator          the decorator to use
+     * @param groups             the independent groups of fields
+     * @param pageObjectInstance the instance of the page object
+     * @param executor           the Executor initializing the groups
      */
-    private static boolean isALocator(Field field) {
-        return field.isAnnotationPresent(FindBy.class);
+    private static void setFieldsConcurrently(FieldDecorator decorator, List<List<FieldBlueprint>> groups,
+                                              Object pageObjectInstance, Executor executor) {
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups.size() - 1];
+        for (int i = 0; i < tasks.length; i++) {
+            List<FieldBlueprint> group = groups.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> setFields(decorator, group, pageObjectInstance), executor);
+        }
+        try {
+            setFields(decorator, groups.get(groups.size() - 1), pageObjectInstance);
+        } finally {
+            try {
+                CompletableFuture.allOf(tasks).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
     }
 
     /**
      * Sets the field with the given decorator.
      *
      * @param decorator          the decorator to use
-     * @param field              the field to set
+     * @param field              the blueprint of the field to set
      * @param pageObjectInstance the instance of the page object
      */
-    private static void setField(FieldDecorator decorator, Field field, Object pageObjectInstance) {
-        Object value = decorator.decorate(field, pageObjectInstance);
+    private static void setField(FieldDecorator decorator, FieldBlueprint field, Object pageObjectInstance) {
+        FieldDecorationEvent event = new FieldDecorationEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+        Object value = decorator.decorate(field.getField(), pageObjectInstance);
+        PageFactoryMetrics.fieldDecorationDone(event, start, pageObjectInstance.getClass(), field.getName());
         if (value != null) {
-            try {
-                field.setAccessible(true);
-                field.set(pageObjectInstance, value);
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+            field.getAccessor().set(pageObjectInstance, value);
         }
     }
 }
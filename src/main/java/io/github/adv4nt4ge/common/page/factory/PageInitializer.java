@@ -0,0 +1,27 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Initializes the {@code @FindBy} fields of a page object without reflection.
+ * <p>
+ * Implementations named {@code <PageClass>_Initializer} are generated at build time by
+ * {@link io.github.adv4nt4ge.common.page.factory.processor.PageInitializerProcessor} and picked up by
+ * {@link PageFactory} when the {@link ElementFieldDecorator} of a page is used, as by {@code PageProducer}.
+ *
+ * @param <T> the type of the page object
+ */
+public interface PageInitializer<T> {
+    /**
+     * The suffix appended to the name of the page object class to name its generated initializer.
+     */
+    String SUFFIX = "_Initializer";
+
+    /**
+     * Initializes the fields of the page object, parents before the fields that depend on them.
+     *
+     * @param pageObject the page object whose fields to initialize
+     * @param page       the Page to create the locators on
+     */
+    void initElements(T pageObject, Page page);
+}
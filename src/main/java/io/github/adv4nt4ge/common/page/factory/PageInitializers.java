@@ -0,0 +1,54 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.util.Optional;
+
+/**
+ * Looks up the generated {@link PageInitializer} of a page object class, once per class.
+ */
+final class PageInitializers {
+    private static final ClassValue<Optional<PageInitializer<Object>>> INITIALIZERS = new ClassValue<>() {
+        @Override
+        protected Optional<PageInitializer<Object>> computeValue(Class<?> type) {
+            return Optional.ofNullable(load(type));
+        }
+    };
+
+    private PageInitializers() {
+    }
+
+    /**
+     * Returns the generated initializer of the specified page object class.
+     *
+     * @param pageObjectClass the page object class
+     * @return the initializer, or null if none was generated for the class
+     */
+    static PageInitializer<Object> of(Class<?> pageObjectClass) {
+        return INITIALIZERS.get(pageObjectClass).orElse(null);
+    }
+
+    /**
+     * Returns the name of the initializer generated for the specified class. Nested classes are flattened,
+     * so the initializer of {@code com.example.Outer$Inner} is {@code com.example.Outer_Inner_Initializer}.
+     *
+     * @param pageObjectClass the page object class
+     * @return the binary name of the initializer class
+     */
+    static String initializerName(Class<?> pageObjectClass) {
+        return pageObjectClass.getName().replace('$', '_') + PageInitializer.SUFFIX;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PageInitializer<Object> load(Class<?> pageObjectClass) {
+        try {
+            Class<?> initializerClass = Class.forName(initializerName(pageObjectClass), true, pageObjectClass.getClassLoader());
+            if (!PageInitializer.class.isAssignableFrom(initializerClass)) {
+                return null;
+            }
+            return (PageInitializer<Object>) initializerClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import io.github.adv4nt4ge.common.page.factory.metrics.ElementQueryEvent;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable state of the {@code @FindBy} fields of a page object, read in one browser round-trip, so a page can be
+ * verified with local assertions instead of one call per check:
+ * <pre>
+ * PageSnapshot snapshot = PageSnapshot.of(page, checkoutPage);
+ * assertTrue(snapshot.get("payButton").isEnabled());
+ * assertEquals("42.00", snapshot.get("total").getText());
+ * </pre>
+ * For every element matched by a field, the snapshot holds its visibility, enabled state, text content, value and
+ * attributes. The fields whose locators are translated by {@link SelectorTranslator} are read by a single
+ * {@code evaluate} call. The other fields, such as {@code text} and {@code label} locators, fields in frames and
+ * ranked alternatives, are read by one {@code evaluateAll} call each. Component fields are not part of the snapshot,
+ * take the snapshot of the component instead.
+ * <p>
+ * Visibility and enabled state are computed in the browser like Playwright does for the common cases: an element is
+ * visible when it has a non-empty bounding box and is not {@code visibility: hidden}, and enabled unless it is a
+ * disabled form control, in a disabled fieldset or {@code aria-disabled}. A snapshot does not wait for elements, it
+ * holds the state of the page at the time it was taken.
+ */
+public final class PageSnapshot {
+    /**
+     * Script function reading the state of an element.
+     */
+    private static final String STATE = "e => {\n"
+            + "  const style = getComputedStyle(e);\n"
+            + "  const rect = e.getBoundingClientRect();\n"
+            + "  const control = ['BUTTON', 'INPUT', 'SELECT', 'TEXTAREA', 'OPTION', 'OPTGROUP'].includes(e.tagName);\n"
+            + "  const disabled = control && (e.disabled || e.closest('fieldset[disabled]') !== null)\n"
+            + "      || e.closest('[aria-disabled=\"true\"]') !== null;\n"
+            + "  const attributes = {};\n"
+            + "  for (const attribute of e.attributes) attributes[attribute.name] = attribute.value;\n"
+            + "  return {\n"
+            + "    visible: rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden',\n"
+            + "    enabled: !disabled,\n"
+            + "    text: e.textContent,\n"
+            + "    value: 'value' in e && typeof e.value === 'string' ? e.value : null,\n"
+            + "    attributes\n"
+            + "  };\n"
+            + "}";
+
+    /**
+     * Evaluates the steps of every field from a scope, and returns the states of the matched elements of each field,
+     * or null for the fields whose selectors are invalid.
+     */
+    private static final String SCRIPT = "(scope, fields) => {\n"
+            + "  const query = " + SelectorTranslator.QUERY + ";\n"
+            + "  const state = " + STATE + ";\n"
+            + "  return fields.map(steps => {\n"
+            + "    try {\n"
+            + "      return query(scope, steps).map(state);\n"
+            + "    } catch (e) {\n"
+            + "      return null;\n"
+            + "    }\n"
+            + "  });\n"
+            + "}";
+
+    private static final String PAGE_SCRIPT = "fields => (" + SCRIPT + ")(document, fields)";
+    private static final String FIELD_SCRIPT = "elements => elements.map(" + STATE + ")";
+
+    private final Map<String, FieldState> fields;
+
+    private PageSnapshot(Map<String, FieldState> fields) {
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Takes the snapshot of a page object, or of some of its fields.
+     *
+     * @param page       the Page the page object was created for
+     * @param pageObject the page object
+     * @param fieldNames the names of the fields to read, or none to read all Locator and list fields
+     * @return the snapshot
+     * @throws IllegalArgumentException if a field is not a {@code @FindBy} Locator or list field of the page object
+     */
+    public static PageSnapshot of(Page page, Object pageObject, String... fieldNames) {
+        return take(pageObject, fieldNames, steps -> page.evaluate(PAGE_SCRIPT, steps));
+    }
+
+    /**
+     * Takes the snapshot of a component, or of some of its fields, the translated locators being evaluated inside
+     * the root element of the component.
+     *
+     * @param root       the Locator of the root element of the component
+     * @param component  the component
+     * @param fieldNames the names of the fields to read, or none to read all Locator and list fields
+     * @return the snapshot
+     * @throws IllegalArgumentException if a field is not a {@code @FindBy} Locator or list field of the component
+     */
+    public static PageSnapshot of(Locator root, Object component, String... fieldNames) {
+        return take(component, fieldNames, steps -> root.evaluate(SCRIPT, steps));
+    }
+
+    /**
+     * @return the names of the fields of the snapshot, in initialization order
+     */
+    public List<String> getFieldNames() {
+        return List.copyOf(fields.keySet());
+    }
+
+    /**
+     * @param fieldName the name of a field of the snapshot
+     * @return the state of the field
+     * @throws IllegalArgumentException if the field is not part of the snapshot
+     */
+    public FieldState get(String fieldName) {
+        FieldState field = fields.get(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("The field " + fieldName + " is not part of the snapshot, found: "
+                    + fields.keySet());
+        }
+        return field;
+    }
+
+    @Override
+    public String toString() {
+        return "PageSnapshot" + fields;
+    }
+
+    private static PageSnapshot take(Object pageObject, String[] fieldNames, Evaluator evaluator) {
+        PageBlueprint blueprint = PageBlueprint.of(pageObject.getClass());
+        List<FieldBlueprint> selected = select(blueprint, pageObject, fieldNames);
+
+        List<FieldBlueprint> translated = new ArrayList<>();
+        List<List<Map<String, String>>> steps = new ArrayList<>();
+        for (FieldBlueprint field : selected) {
+            List<Map<String, String>> fieldSteps = SelectorTranslator.translate(blueprint, field);
+            if (fieldSteps != null) {
+                translated.add(field);
+                steps.add(fieldSteps);
+            }
+        }
+
+        Map<String, List<?>> states = new LinkedHashMap<>();
+        if (!translated.isEmpty()) {
+            ElementQueryEvent event = new ElementQueryEvent();
+            event.begin();
+            long start = PageFactoryMetrics.start();
+            List<?> results = (List<?>) evaluator.evaluate(steps);
+            int total = 0;
+            for (int i = 0; i < translated.size(); i++) {
+                List<?> elements = (List<?>) results.get(i);
+                if (elements != null) {
+                    states.put(translated.get(i).getName(), elements);
+                    total += elements.size();
+                }
+            }
+            PageFactoryMetrics.elementQueryDone(event, start, blueprint.getPageObjectClass(),
+                    translated.stream().map(FieldBlueprint::getName).collect(Collectors.joining(",")), null, total);
+        }
+
+        Map<String, FieldState> fields = new LinkedHashMap<>();
+        for (FieldBlueprint field : selected) {
+            List<?> elements = states.get(field.getName());
+            if (elements == null) {
+                elements = evaluateField(locatorOf(field, pageObject));
+            }
+            fields.put(field.getName(), new FieldState(elements.stream()
+                    .map(state -> new ElementState((Map<?, ?>) state))
+                    .collect(Collectors.toUnmodifiableList())));
+        }
+        return new PageSnapshot(fields);
+    }
+
+    private static List<FieldBlueprint> select(PageBlueprint blueprint, Object pageObject, String[] fieldNames) {
+        if (fieldNames.length == 0) {
+            return blueprint.getFields().stream()
+                    .filter(field -> locatorOf(field, pageObject) != null)
+                    .collect(Collectors.toList());
+        }
+        List<FieldBlueprint> selected = new ArrayList<>(fieldNames.length);
+        for (String name : fieldNames) {
+            FieldBlueprint field = blueprint.getField(name);
+            if (field == null || locatorOf(field, pageObject) == null) {
+                List<String> names = select(blueprint, pageObject, new String[0]).stream()
+                        .map(FieldBlueprint::getName).collect(Collectors.toList());
+                throw new IllegalArgumentException("Unable to take the snapshot of " + name + " in "
+                        + blueprint.getPageObjectClass().getName() + ", expected one of the @FindBy Locator or list "
+                        + "fields: " + names);
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+
+    /**
+     * @return the Locator of a Locator or lazy list field, or null for other fields and uninitialized fields
+     */
+    private static Locator locatorOf(FieldBlueprint field, Object pageObject) {
+        if (field.getComponentType() != null) {
+            return null;
+        }
+        Object value = field.getAccessor().get(pageObject);
+        if (value instanceof Locator) {
+            return (Locator) value;
+        }
+        return value instanceof LazyElementList ? ((LazyElementList<?>) value).getLocator() : null;
+    }
+
+    private static List<?> evaluateField(Locator locator) {
+        try {
+            return (List<?>) locator.evaluateAll(FIELD_SCRIPT);
+        } catch (PlaywrightException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("detached")) {
+                throw e;
+            }
+            // The frame of the field was detached, the field matches no element
+            return List.of();
+        }
+    }
+
+    private interface Evaluator {
+        Object evaluate(List<List<Map<String, String>>> steps);
+    }
+
+    /**
+     * State of the elements matched by a field. The single element accessors read the first element, like the
+     * Locator of a field matching one element.
+     */
+    public static final class FieldState {
+        private final List<ElementState> elements;
+
+        private FieldState(List<ElementState> elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * @return the number of elements matched by the field
+         */
+        public int count() {
+            return elements.size();
+        }
+
+        /**
+         * @return the states of the matched elements, in document order
+         */
+        public List<ElementState> getElements() {
+            return elements;
+        }
+
+        /**
+         * @param index the index of a matched element
+         * @return the state of the element
+         */
+        public ElementState get(int index) {
+            return elements.get(index);
+        }
+
+        /**
+         * @return true if the field matched an element and the first one is visible
+         */
+        public boolean isVisible() {
+            return !elements.isEmpty() && elements.get(0).isVisible();
+        }
+
+        /**
+         * @return true if the field matched an element and the first one is enabled
+         */
+        public boolean isEnabled() {
+            return !elements.isEmpty() && elements.get(0).isEnabled();
+        }
+
+        /**
+         * @return the text content of the first element, or null if the field matched no element
+         */
+        public String getText() {
+            return elements.isEmpty() ? null : elements.get(0).getText();
+        }
+
+        /**
+         * @return the text contents of all matched elements
+         */
+        public List<String> getTexts() {
+            return elements.stream().map(ElementState::getText).collect(Collectors.toUnmodifiableList());
+        }
+
+        /**
+         * @param name the name of an attribute
+         * @return the value of the attribute of the first element, or null if the attribute is not set or the field
+         * matched no element
+         */
+        public String getAttribute(String name) {
+            return elements.isEmpty() ? null : elements.get(0).getAttribute(name);
+        }
+
+        @Override
+        public String toString() {
+            return elements.toString();
+        }
+    }
+
+    /**
+     * State of one element.
+     */
+    public static final class ElementState {
+        private final boolean visible;
+        private final boolean enabled;
+        private final String text;
+        private final String value;
+        private final Map<String, String> attributes;
+
+        private ElementState(Map<?, ?> state) {
+            this.visible = Boolean.TRUE.equals(state.get("visible"));
+            this.enabled = Boolean.TRUE.equals(state.get("enabled"));
+            this.text = (String) state.get("text");
+            this.value = (String) state.get("value");
+            Map<String, String> attributes = new LinkedHashMap<>();
+            Object values = state.get("attributes");
+            if (values instanceof Map) {
+                ((Map<?, ?>) values).forEach((name, attribute) ->
+                        attributes.put(String.valueOf(name), String.valueOf(attribute)));
+            }
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+
+        /**
+         * @return true if the element has a non-empty bounding box and is not {@code visibility: hidden}
+         */
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * @return false if the element is a disabled form control, is in a disabled fieldset or is
+         * {@code aria-disabled}
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return the text content of the element
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the value of an input, textarea or select element, null for other elements
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @param name the name of an attribute
+         * @return the value of the attribute, or null if it is not set
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * @return the attributes of the element by name
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public String toString() {
+            return "{visible=" + visible + ", enabled=" + enabled + ", text=" + text + ", attributes=" + attributes + "}";
+        }
+    }
+}
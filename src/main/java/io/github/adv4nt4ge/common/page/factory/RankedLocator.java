@@ -0,0 +1,163 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import com.microsoft.playwright.FrameLocator;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Locator trying alternative Locators in the order of their past success and latency, for fields annotated with
+ * {@code @FindAll(ranked = true)}.
+ * <p>
+ * Creating a RankedLocator and chaining it, e.g. with {@code locator()} or {@code filter()}, makes no browser call:
+ * the chained Locator holds the chained alternatives, and its stats are kept under keys of its own, derived from the
+ * keys of the parent and the chained calls. Before each action, the alternatives are probed with {@code count()},
+ * which does not wait, and the action runs on the first one matching an element. The probes are recorded in
+ * {@link LocatorStats} when one of the alternatives matches, so the alternative usually matching comes first in the
+ * next runs. When no alternative matches yet, e.g. because the page is still rendering, nothing is recorded and the
+ * action runs on the first element matched by the alternatives combined with {@code or()}, waiting for it to appear.
+ * <p>
+ * A RankedLocator is a proxy, not a Playwright {@code LocatorImpl}, so Playwright methods casting their Locator
+ * argument throw {@code ClassCastException} when given one: {@code PlaywrightAssertions.assertThat(locator)},
+ * {@code Locator.or(locator)} and {@code Locator.FilterOptions.setHas(locator)} among them. Pass
+ * {@link #select(Locator)} instead, which returns the Playwright Locator the next action would run on.
+ */
+public final class RankedLocator implements InvocationHandler {
+    private final List<Locator> alternatives;
+    private final List<String> keys;
+    private final LocatorStats stats;
+
+    private RankedLocator(List<Locator> alternatives, List<String> keys, LocatorStats stats) {
+        this.alternatives = alternatives;
+        this.keys = keys;
+        this.stats = stats;
+    }
+
+    /**
+     * Creates a Locator trying the alternatives in ranked order.
+     *
+     * @param alternatives the alternative Locators, in declaration order
+     * @param keys         the keys the stats of the alternatives are recorded under, one per alternative: the binary
+     *                     name of the class declaring the field, {@code #}, the field name, a space and
+     *                     {@link LocatorStrategy#toString()}
+     * @return the Locator, or the only alternative if there is one
+     */
+    public static Locator of(List<Locator> alternatives, List<String> keys) {
+        return of(alternatives, keys, LocatorStats.shared());
+    }
+
+    /**
+     * Returns the Playwright Locator an action on a Locator runs on, for the Playwright methods rejecting a
+     * RankedLocator, e.g. {@code assertThat(RankedLocator.select(page.payButton)).isVisible()}. The alternatives are
+     * probed once, when this method is called.
+     *
+     * @param locator a Locator
+     * @return the first alternative matching an element if the Locator is a RankedLocator, else the Locator itself
+     */
+    public static Locator select(Locator locator) {
+        if (locator != null && Proxy.isProxyClass(locator.getClass())
+                && Proxy.getInvocationHandler(locator) instanceof RankedLocator) {
+            return ((RankedLocator) Proxy.getInvocationHandler(locator)).select();
+        }
+        return locator;
+    }
+
+    static Locator of(List<Locator> alternatives, List<String> keys, LocatorStats stats) {
+        if (alternatives.size() != keys.size()) {
+            throw new IllegalArgumentException("Expected one key per alternative, found " + alternatives.size()
+                    + " alternatives and " + keys.size() + " keys");
+        }
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        return (Locator) Proxy.newProxyInstance(RankedLocator.class.getClassLoader(), new Class<?>[]{Locator.class},
+                new RankedLocator(List.copyOf(alternatives), List.copyOf(keys), stats));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "RankedLocator" + keys;
+            }
+        }
+        if (method.getReturnType() == Locator.class) {
+            List<Locator> chained = new ArrayList<>(alternatives.size());
+            List<String> chainedKeys = new ArrayList<>(alternatives.size());
+            String call = describe(method, args);
+            for (int i = 0; i < alternatives.size(); i++) {
+                chained.add((Locator) call(alternatives.get(i), method, args));
+                chainedKeys.add(keys.get(i) + " >> " + call);
+            }
+            return of(chained, chainedKeys, stats);
+        }
+        if (method.getReturnType() == FrameLocator.class) {
+            return call(alternatives.get(stats.rank(keys)[0]), method, args);
+        }
+        return call(select(), method, args);
+    }
+
+    /**
+     * Probes the alternatives in ranked order. The probes are recorded only when an alternative matches: before the
+     * page has rendered, none matches and the misses would say nothing about the selectors.
+     *
+     * @return the first alternative matching an element, or the first element of all alternatives combined if none
+     * matches yet
+     */
+    private Locator select() {
+        int[] ranking = stats.rank(keys);
+        long[] nanos = new long[ranking.length];
+        for (int i = 0; i < ranking.length; i++) {
+            Locator alternative = alternatives.get(ranking[i]);
+            long start = System.nanoTime();
+            boolean hit;
+            try {
+                hit = alternative.count() > 0;
+            } catch (PlaywrightException e) {
+                hit = false;
+            }
+            nanos[i] = System.nanoTime() - start;
+            if (hit) {
+                for (int j = 0; j <= i; j++) {
+                    stats.record(keys.get(ranking[j]), j == i, nanos[j]);
+                }
+                return alternative;
+            }
+        }
+        return alternatives.stream().reduce(Locator::or).orElseThrow().first();
+    }
+
+    /**
+     * Describes a chained call for the keys of the chained Locator. Options are described by their type only, as
+     * their {@code toString()} is not stable across runs.
+     */
+    private static String describe(Method method, Object[] args) {
+        StringBuilder call = new StringBuilder(method.getName()).append('(');
+        for (int i = 0; args != null && i < args.length; i++) {
+            Object arg = args[i];
+            call.append(i == 0 ? "" : ", ").append(arg == null || arg instanceof String || arg instanceof Number
+                    || arg instanceof Boolean || Proxy.isProxyClass(arg.getClass()) ? String.valueOf(arg)
+                    : arg.getClass().getSimpleName());
+        }
+        return call.append(')').toString();
+    }
+
+    private static Object call(Locator target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
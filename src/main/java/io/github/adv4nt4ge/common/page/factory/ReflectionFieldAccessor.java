@@ -0,0 +1,53 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+
+/**
+ * Accessor backed by {@link Field#get} and {@link Field#set}.
+ */
+final class ReflectionFieldAccessor implements FieldAccessor {
+    private final Field field;
+
+    ReflectionFieldAccessor(Field field) {
+        this.field = field;
+        try {
+            this.field.setAccessible(true);
+        } catch (InaccessibleObjectException e) {
+            throw new IllegalStateException(notOpenMessage(field), e);
+        }
+    }
+
+    /**
+     * Explains how to open the package of a field whose module does not open it to the page factory.
+     */
+    private static String notOpenMessage(Field field) {
+        Module module = field.getDeclaringClass().getModule();
+        String packageName = field.getDeclaringClass().getPackageName();
+        Module factoryModule = FieldAccessor.class.getModule();
+        String factoryModuleName = factoryModule.isNamed() ? factoryModule.getName() : "ALL-UNNAMED";
+        return "Unable to access field " + field + ": package " + packageName + " of " + module
+                + " is not open to " + factoryModule + ". Open package " + packageName + " to " + factoryModuleName
+                + ", with 'opens " + packageName + (factoryModule.isNamed() ? " to " + factoryModuleName : "")
+                + ";' in the module-info of the page objects or with --add-opens " + module.getName() + "/"
+                + packageName + "=" + factoryModuleName;
+    }
+
+    @Override
+    public Object get(Object pageObjectInstance) {
+        try {
+            return field.get(pageObjectInstance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void set(Object pageObjectInstance, Object value) {
+        try {
+            field.set(pageObjectInstance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
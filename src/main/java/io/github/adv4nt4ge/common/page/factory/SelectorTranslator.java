@@ -0,0 +1,176 @@
+package io.github.adv4nt4ge.common.page.factory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Translates the locators of fields into plain CSS and XPath selectors, which can be evaluated in the browser by
+ * {@code querySelectorAll} and {@code document.evaluate} in a single script.
+ * <p>
+ * Only the strategies with an equivalent selector are translated: {@code locator} selectors that are not using a
+ * Playwright selector engine, {@code testId}, and {@code title}, {@code placeholder} and {@code altText} as
+ * case-insensitive substring matches. {@code text} and {@code label} depend on the accessibility tree and are never
+ * translated. Alternative strategies combined with {@code or()} are translated into a CSS selector list when all of
+ * them translate to CSS, ranked alternatives are never translated. Unlike Playwright, plain selectors do not pierce
+ * shadow roots.
+ */
+final class SelectorTranslator {
+    /**
+     * Script function evaluating translated steps from a scope, the document or the root element of a component, and
+     * returning the matched elements in document order. Throws if a selector is rejected by the browser.
+     */
+    static final String QUERY = "(scope, steps) => {\n"
+            + "  let roots = [scope];\n"
+            + "  for (const step of steps) {\n"
+            + "    const found = new Set();\n"
+            + "    for (const root of roots) {\n"
+            + "      if (step.css !== undefined) {\n"
+            + "        root.querySelectorAll(step.css).forEach(e => found.add(e));\n"
+            + "      } else {\n"
+            + "        const xpath = root !== document && step.xpath.startsWith('/') ? '.' + step.xpath : step.xpath;\n"
+            + "        const result = document.evaluate(xpath, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);\n"
+            + "        for (let i = 0; i < result.snapshotLength; i++) {\n"
+            + "          const node = result.snapshotItem(i);\n"
+            + "          if (node.nodeType === Node.ELEMENT_NODE) found.add(node);\n"
+            + "        }\n"
+            + "      }\n"
+            + "    }\n"
+            + "    roots = [...found];\n"
+            + "    if (roots.length > 1) {\n"
+            + "      roots.sort((a, b) => a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1);\n"
+            + "    }\n"
+            + "  }\n"
+            + "  return roots;\n"
+            + "}";
+
+    private static final Pattern SELECTOR_ENGINE = Pattern.compile("^\\s*[a-zA-Z0-9_-]+(:[a-zA-Z0-9_-]+)?=");
+
+    private SelectorTranslator() {
+    }
+
+    /**
+     * Translates the locator of a field, including the locators of its parents, into a list of steps. Each step is a
+     * map holding either a {@code css} or an {@code xpath} selector, evaluated within the elements matched by the
+     * previous step.
+     *
+     * @param blueprint the blueprint of the page object
+     * @param field     the field to translate
+     * @return the steps from the outermost parent to the field, or null if a locator can not be translated or the
+     * field is in a frame
+     */
+    static List<Map<String, String>> translate(PageBlueprint blueprint, FieldBlueprint field) {
+        List<Map<String, String>> steps = new ArrayList<>();
+        FieldBlueprint current = field;
+        while (current != null) {
+            Map<String, String> step = translateAlternatives(current);
+            if (step == null || !current.getFrameScope().isEmpty()) {
+                return null;
+            }
+            steps.add(step);
+            if (!current.hasParent()) {
+                break;
+            }
+            current = blueprint.getField(current.getParent().value());
+        }
+        Collections.reverse(steps);
+        return steps;
+    }
+
+    /**
+     * Translates the strategies of a field, joining alternatives into a CSS selector list, which matches the union of
+     * the elements in document order like {@code Locator.or()}.
+     */
+    private static Map<String, String> translateAlternatives(FieldBlueprint field) {
+        List<LocatorStrategy> strategies = field.getStrategies();
+        if (strategies.isEmpty() || strategies.size() > 1 && field.isRanked()) {
+            return null;
+        }
+        if (strategies.size() == 1) {
+            return translate(strategies.get(0));
+        }
+        List<String> selectors = new ArrayList<>(strategies.size());
+        for (LocatorStrategy strategy : strategies) {
+            Map<String, String> step = translate(strategy);
+            if (step == null || !step.containsKey("css")) {
+                return null;
+            }
+            selectors.add(step.get("css"));
+        }
+        return Map.of("css", String.join(", ", selectors));
+    }
+
+    /**
+     * Translates a locator strategy into a selector.
+     *
+     * @param strategy the strategy to translate
+     * @return a map holding the {@code css} or {@code xpath} selector, or null if the strategy can not be translated
+     */
+    static Map<String, String> translate(LocatorStrategy strategy) {
+        String value = strategy.getValue();
+        switch (strategy.getKind()) {
+            case LOCATOR:
+                return translateSelector(value);
+            case TEST_ID:
+                return Map.of("css", "[data-testid=" + cssString(value) + "]");
+            case TITLE:
+                return substringMatch("title", value);
+            case PLACEHOLDER:
+                return substringMatch("placeholder", value);
+            case ALT_TEXT:
+                return substringMatch("alt", value);
+            default:
+                return null;
+        }
+    }
+
+    private static Map<String, String> translateSelector(String selector) {
+        String trimmed = selector.trim();
+        if (trimmed.startsWith("xpath=")) {
+            return Map.of("xpath", trimmed.substring("xpath=".length()));
+        }
+        if (trimmed.startsWith("//") || trimmed.startsWith("..")) {
+            return Map.of("xpath", trimmed);
+        }
+        if (trimmed.startsWith("css=")) {
+            trimmed = trimmed.substring("css=".length());
+        } else if (SELECTOR_ENGINE.matcher(trimmed).find()) {
+            return null;
+        }
+        // Chains, text selectors and Playwright pseudo-classes are not CSS. Other invalid selectors are reported by
+        // the browser and fall back to Playwright.
+        if (trimmed.isEmpty() || trimmed.contains(">>") || trimmed.startsWith("\"") || trimmed.startsWith("'")
+                || trimmed.contains(":has-text(") || trimmed.contains(":text") || trimmed.contains(":visible")
+                || trimmed.contains(":nth-match(") || trimmed.contains("internal:")) {
+            return null;
+        }
+        return Map.of("css", trimmed);
+    }
+
+    /**
+     * Playwright matches these attributes as case-insensitive substrings with normalized whitespace. CSS does not
+     * normalize whitespace, so values with irregular whitespace are not translated.
+     */
+    private static Map<String, String> substringMatch(String attribute, String value) {
+        if (value.isEmpty() || !value.strip().replaceAll("\\s+", " ").equals(value)) {
+            return null;
+        }
+        return Map.of("css", "[" + attribute + "*=" + cssString(value) + " i]");
+    }
+
+    private static String cssString(String value) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c == 0x7f) {
+                escaped.append('\\').append(Integer.toHexString(c)).append(' ');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
+}
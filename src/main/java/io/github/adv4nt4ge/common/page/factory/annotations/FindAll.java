@@ -0,0 +1,23 @@
+package io.github.adv4nt4ge.common.page.factory.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Alternative strategies locating the element of a field, e.g. the new and the old selector of a button. Repeating
+ * {@code @FindBy} on a field is the same as {@code @FindAll} with the default {@code ranked = false}.
+ * <p>
+ * By default the alternatives are combined into one Locator with {@code Locator.or()}, which waits for the first
+ * alternative to match, so a stale selector costs no timeout. When several alternatives can match at once, e.g. a
+ * generic and a specific selector, the combined Locator would break strict mode: with {@code ranked = true} the
+ * alternatives are probed instead, in the order of their success rate and latency in previous runs.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface FindAll {
+    FindBy[] value();
+
+    boolean ranked() default false;
+}
@@ -2,12 +2,22 @@ package io.github.adv4nt4ge.common.page.factory.annotations;
 
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Locates the element of a field. Only one attribute can be set. The annotation can be repeated to list alternative
+ * strategies, tried in order, see {@link FindAll}.
+ * <p>
+ * {@code List<ElementHandle>} and {@code List<Locator>} fields are {@code LazyElementList} instances: the matching
+ * elements are queried on first access of the list and kept, not queried again on every access, until the list is
+ * invalidated or refreshed.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
+@Repeatable(FindAll.class)
 public @interface FindBy {
     String testId() default "";
 
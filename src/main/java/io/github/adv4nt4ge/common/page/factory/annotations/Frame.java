@@ -5,9 +5,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Scopes the Locators of a class, or of a single field, to an iframe. Several selectors locate nested iframes,
+ * outermost first. A {@code @Frame} on a field replaces the {@code @Frame} of its class.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD, ElementType.TYPE})
 public @interface Frame {
-    String frame() default "";
+    String[] frame() default {};
 
 }
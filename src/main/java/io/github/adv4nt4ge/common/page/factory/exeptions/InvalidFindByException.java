@@ -0,0 +1,7 @@
+package io.github.adv4nt4ge.common.page.factory.exeptions;
+
+public class InvalidFindByException extends RuntimeException {
+    public InvalidFindByException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of the query of the elements of a lazy {@code List} field in the browser.
+ */
+@Name("io.github.adv4nt4ge.ElementQuery")
+@Label("Element Query")
+@Description("Query of the elements of a lazy List field in the browser")
+@Category("Playwright Factory")
+public final class ElementQueryEvent extends jdk.jfr.Event {
+    @Label("Page Object Class")
+    Class<?> pageObjectClass;
+
+    @Label("Field")
+    String fieldName;
+
+    @Label("Locator")
+    String locator;
+
+    @Label("Count")
+    int count;
+}
@@ -0,0 +1,26 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the decoration of a field of a page object.
+ * Disabled by default, as it is recorded for every field.
+ */
+@Name("io.github.adv4nt4ge.FieldDecoration")
+@Label("Field Decoration")
+@Description("Decoration of a field of a page object")
+@Category("Playwright Factory")
+@StackTrace(false)
+@Enabled(false)
+public final class FieldDecorationEvent extends jdk.jfr.Event {
+    @Label("Page Object Class")
+    Class<?> pageObjectClass;
+
+    @Label("Field")
+    String fieldName;
+}
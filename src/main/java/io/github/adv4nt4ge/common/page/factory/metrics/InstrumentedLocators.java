@@ -0,0 +1,149 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import com.microsoft.playwright.FrameLocator;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * Wraps Locators so that the latency of every action is recorded into the {@link LocatorMetrics} of the page object
+ * field holding the Locator.
+ * <p>
+ * Methods creating other Locators, such as {@code locator()} or {@code nth()}, are not recorded and return plain
+ * Locators. Instrumented Locators passed to the instrumented ones, directly or in the {@code has} options, are
+ * unwrapped before the call. Playwright itself only accepts its own Locators, so an instrumented Locator must be
+ * unwrapped with {@link #unwrap(Locator)} before being passed to other Playwright APIs, e.g.
+ * {@code assertThat(InstrumentedLocators.unwrap(locator))}.
+ */
+public final class InstrumentedLocators {
+    private static final ClassValue<Field[]> LOCATOR_OPTIONS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return Arrays.stream(type.getFields())
+                    .filter(field -> field.getType() == Locator.class && !Modifier.isStatic(field.getModifiers()))
+                    .toArray(Field[]::new);
+        }
+    };
+
+    private InstrumentedLocators() {
+    }
+
+    /**
+     * Wraps a Locator of a page object field.
+     *
+     * @param locator         the Locator to wrap
+     * @param pageObjectClass the class of the page object holding the Locator
+     * @param fieldName       the name of the field holding the Locator
+     * @return the instrumented Locator
+     */
+    public static Locator wrap(Locator locator, Class<?> pageObjectClass, String fieldName) {
+        if (locator == null || isInstrumented(locator)) {
+            return locator;
+        }
+        LocatorMetrics.scheduleReport();
+        return (Locator) Proxy.newProxyInstance(InstrumentedLocators.class.getClassLoader(),
+                new Class<?>[]{Locator.class}, new Handler(locator, pageObjectClass, fieldName));
+    }
+
+    /**
+     * Returns the Locator wrapped by an instrumented Locator.
+     *
+     * @param locator the Locator, instrumented or not
+     * @return the Playwright Locator
+     */
+    public static Locator unwrap(Locator locator) {
+        return isInstrumented(locator) ? ((Handler) Proxy.getInvocationHandler(locator)).target : locator;
+    }
+
+    /**
+     * @param locator the Locator to check
+     * @return true if the Locator was created by {@link #wrap(Locator, Class, String)}
+     */
+    public static boolean isInstrumented(Locator locator) {
+        return locator != null && Proxy.isProxyClass(locator.getClass())
+                && Proxy.getInvocationHandler(locator) instanceof Handler;
+    }
+
+    private static Object[] unwrapArguments(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] unwrapped = args.clone();
+        for (int i = 0; i < unwrapped.length; i++) {
+            Object arg = unwrapped[i];
+            if (arg instanceof Locator) {
+                unwrapped[i] = unwrap((Locator) arg);
+            } else if (arg != null && arg.getClass().getName().startsWith("com.microsoft.playwright.")) {
+                unwrapOptions(arg);
+            }
+        }
+        return unwrapped;
+    }
+
+    private static void unwrapOptions(Object options) {
+        for (Field field : LOCATOR_OPTIONS.get(options.getClass())) {
+            try {
+                Object value = field.get(options);
+                if (value instanceof Locator && isInstrumented((Locator) value)) {
+                    field.set(options, unwrap((Locator) value));
+                }
+            } catch (IllegalAccessException e) {
+                // Public fields of the options classes are always accessible
+            }
+        }
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final Locator target;
+        private final Class<?> pageObjectClass;
+        private final String fieldName;
+
+        private Handler(Locator target, Class<?> pageObjectClass, String fieldName) {
+            this.target = target;
+            this.pageObjectClass = pageObjectClass;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if (method.getName().equals("equals")) {
+                    return args[0] instanceof Locator && target.equals(unwrap((Locator) args[0]));
+                }
+                return method.invoke(target, args);
+            }
+
+            Object[] actualArgs = unwrapArguments(args);
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Locator.class || returnType == FrameLocator.class || returnType == Page.class) {
+                return call(method, actualArgs);
+            }
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = call(method, actualArgs);
+                failed = false;
+                return result;
+            } finally {
+                // Looked up on every call, so the proxies record into the new histograms after a reset
+                LocatorMetrics.record(pageObjectClass, fieldName, method.getName(), System.nanoTime() - start, failed);
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JVM-wide latency histograms of the Locator actions, per page object class, field and action.
+ * <p>
+ * The histograms are filled by the Locators wrapped by {@link InstrumentedLocators} and shared by all threads, so
+ * parallel workers are merged. Once a Locator was instrumented, {@code locator-latency.json} and
+ * {@code locator-latency.csv} are written at JVM exit to the directory set by
+ * {@code -Dplaywright.factory.locator.metrics.dir} ({@code target/locator-metrics} by default), ranked by the total
+ * time spent in each action.
+ */
+public final class LocatorMetrics {
+    private static final Map<Key, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean REPORT_SCHEDULED = new AtomicBoolean();
+
+    private LocatorMetrics() {
+    }
+
+    /**
+     * Records the latency of a Locator action.
+     *
+     * @param pageObjectClass the class of the page object holding the Locator
+     * @param fieldName       the name of the field holding the Locator
+     * @param action          the name of the Locator method
+     * @param nanos           the latency in nanoseconds
+     * @param failed          true if the action threw
+     */
+    public static void record(Class<?> pageObjectClass, String fieldName, String action, long nanos, boolean failed) {
+        HISTOGRAMS.computeIfAbsent(new Key(pageObjectClass.getName(), fieldName, action), key -> new LatencyHistogram())
+                .record(nanos, failed);
+    }
+
+    /**
+     * Returns the histogram of a Locator action.
+     *
+     * @param pageObjectClass the class of the page object holding the Locator
+     * @param fieldName       the name of the field holding the Locator
+     * @param action          the name of the Locator method
+     * @return the histogram, or null if the action was not recorded
+     */
+    public static LatencyHistogram getHistogram(Class<?> pageObjectClass, String fieldName, String action) {
+        return HISTOGRAMS.get(new Key(pageObjectClass.getName(), fieldName, action));
+    }
+
+    /**
+     * Drops all recorded latencies. Instrumented Locators created before keep recording, into new histograms.
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Writes the report at JVM exit, once.
+     */
+    static void scheduleReport() {
+        if (REPORT_SCHEDULED.compareAndSet(false, true)) {
+            Path directory = Paths.get(Settings.getString("locator.metrics.dir", "target/locator-metrics"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writeReport(directory);
+                } catch (UncheckedIOException e) {
+                    System.err.println("Unable to write the locator metrics: " + e.getMessage());
+                }
+            }, "locator-metrics-report"));
+        }
+    }
+
+    /**
+     * Writes {@code locator-latency.json} and {@code locator-latency.csv} to the directory.
+     *
+     * @param directory the directory of the report
+     */
+    public static void writeReport(Path directory) {
+        List<Map.Entry<Key, LatencyHistogram>> entries = new ArrayList<>(HISTOGRAMS.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Key, LatencyHistogram> entry) -> entry.getValue().getTotalNanos())
+                .reversed());
+        try {
+            Files.createDirectories(directory);
+            try (Writer json = Files.newBufferedWriter(directory.resolve("locator-latency.json"), StandardCharsets.UTF_8);
+                 Writer csv = Files.newBufferedWriter(directory.resolve("locator-latency.csv"), StandardCharsets.UTF_8)) {
+                csv.write("pageObject,field,action,count,errors,totalMs,meanMs,p50Ms,p90Ms,p99Ms,maxMs\n");
+                json.write("[");
+                for (int i = 0; i < entries.size(); i++) {
+                    Key key = entries.get(i).getKey();
+                    LatencyHistogram histogram = entries.get(i).getValue();
+                    long count = histogram.getCount();
+                    String[] values = {
+                            Long.toString(count),
+                            Long.toString(histogram.getErrors()),
+                            millis(histogram.getTotalNanos()),
+                            millis(count == 0 ? 0 : histogram.getTotalNanos() / count),
+                            millis(histogram.getPercentileNanos(50)),
+                            millis(histogram.getPercentileNanos(90)),
+                            millis(histogram.getPercentileNanos(99)),
+                            millis(histogram.getMaxNanos())};
+
+                    csv.write(csv(key.pageObject) + "," + csv(key.field) + "," + csv(key.action) + ","
+                            + String.join(",", values) + "\n");
+                    json.write((i == 0 ? "\n" : ",\n") + "  {\"pageObject\": " + json(key.pageObject)
+                            + ", \"field\": " + json(key.field) + ", \"action\": " + json(key.action)
+                            + ", \"count\": " + values[0] + ", \"errors\": " + values[1]
+                            + ", \"totalMs\": " + values[2] + ", \"meanMs\": " + values[3]
+                            + ", \"p50Ms\": " + values[4] + ", \"p90Ms\": " + values[5]
+                            + ", \"p99Ms\": " + values[6] + ", \"maxMs\": " + values[7] + "}");
+                }
+                json.write("\n]\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static String json(String value) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
+
+    private static final class Key {
+        private final String pageObject;
+        private final String field;
+        private final String action;
+
+        private Key(String pageObject, String field, String action) {
+            this.pageObject = pageObject;
+            this.field = field;
+            this.action = action;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return pageObject.equals(key.pageObject) && field.equals(key.field) && action.equals(key.action);
+        }
+
+        @Override
+        public int hashCode() {
+            return (pageObject.hashCode() * 31 + field.hashCode()) * 31 + action.hashCode();
+        }
+    }
+}
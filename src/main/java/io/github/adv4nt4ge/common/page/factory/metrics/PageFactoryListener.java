@@ -0,0 +1,65 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+/**
+ * Listener notified of the work done to initialize page objects, e.g. to export the timings to a metrics system.
+ * <p>
+ * Implementations are registered with {@link PageFactoryMetrics#setListener(PageFactoryListener)} or found by the
+ * {@link java.util.ServiceLoader} in {@code META-INF/services/io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryListener}.
+ * They are called on the threads initializing the page objects, so they must be thread-safe and fast.
+ * All durations are in nanoseconds.
+ */
+public interface PageFactoryListener {
+
+    /**
+     * Called after the fields of a page object were initialized.
+     *
+     * @param pageObjectClass the class of the page object
+     * @param generated       true if the generated initializer of the class was used
+     * @param durationNanos   the time spent initializing the fields
+     */
+    default void onPageInitialized(Class<?> pageObjectClass, boolean generated, long durationNanos) {
+    }
+
+    /**
+     * Called after a field was decorated. Not called for the fields set by generated initializers.
+     *
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     * @param durationNanos   the time spent decorating the field
+     */
+    default void onFieldDecorated(Class<?> pageObjectClass, String fieldName, long durationNanos) {
+    }
+
+    /**
+     * Called after the Locator of a field was created relative to its {@code @Parent}. Not called for the fields set
+     * by generated initializers.
+     *
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     * @param parentName      the name of the parent field
+     * @param durationNanos   the time spent resolving the parent and creating the Locator
+     */
+    default void onParentResolved(Class<?> pageObjectClass, String fieldName, String parentName, long durationNanos) {
+    }
+
+    /**
+     * Called after the elements of a lazy {@code List} field were queried in the browser.
+     *
+     * @param pageObjectClass the class of the page object, or null if the list was created outside of a page object
+     * @param fieldName       the name of the field, or null if the list was created outside of a page object
+     * @param count           the number of elements found
+     * @param durationNanos   the time spent querying the elements
+     */
+    default void onElementsQueried(Class<?> pageObjectClass, String fieldName, int count, long durationNanos) {
+    }
+
+    /**
+     * Called after {@code PageProducer} returned a page object.
+     *
+     * @param pageObjectClass the class of the page object
+     * @param cached          true if the page object was taken from the page cache
+     * @param durationNanos   the time spent creating and initializing the page object
+     */
+    default void onPageProduced(Class<?> pageObjectClass, boolean cached, long durationNanos) {
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import com.microsoft.playwright.Locator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Reports the initialization of page objects as Flight Recorder events and to the registered
+ * {@link PageFactoryListener}.
+ * <p>
+ * The instrumented code creates the event, calls {@code begin()} on it and {@link #start()} before the measured work,
+ * and passes both to the matching {@code xxxDone} method afterwards. When no recording enables the events and no
+ * listener is registered, the events are never committed and the clock is not read, so the JIT reduces the
+ * instrumentation to a few checks.
+ */
+public final class PageFactoryMetrics {
+    private static volatile PageFactoryListener listener = loadListeners();
+
+    private PageFactoryMetrics() {
+    }
+
+    /**
+     * @return the registered listener, or null if there is none
+     */
+    public static PageFactoryListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Registers the listener, replacing the listeners found by the {@link ServiceLoader}.
+     *
+     * @param pageFactoryListener the listener, or null to stop notifying
+     */
+    public static void setListener(PageFactoryListener pageFactoryListener) {
+        listener = pageFactoryListener;
+    }
+
+    /**
+     * @return the start time of the measured work for the listener, or 0 if there is no listener
+     */
+    public static long start() {
+        return listener == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends the measurement of the initialization of the fields of a page object.
+     *
+     * @param event           the begun event
+     * @param start           the value returned by {@link #start()}
+     * @param pageObjectClass the class of the page object
+     * @param generated       true if the generated initializer of the class was used
+     */
+    public static void pageInitDone(PageInitEvent event, long start, Class<?> pageObjectClass, boolean generated) {
+        if (event.shouldCommit()) {
+            event.pageObjectClass = pageObjectClass;
+            event.generated = generated;
+            event.commit();
+        }
+        PageFactoryListener current = listener;
+        if (current != null && start != 0) {
+            current.onPageInitialized(pageObjectClass, generated, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ends the measurement of the decoration of a field.
+     *
+     * @param event           the begun event
+     * @param start           the value returned by {@link #start()}
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     */
+    public static void fieldDecorationDone(FieldDecorationEvent event, long start, Class<?> pageObjectClass,
+                                           String fieldName) {
+        if (event.shouldCommit()) {
+            event.pageObjectClass = pageObjectClass;
+            event.fieldName = fieldName;
+            event.commit();
+        }
+        PageFactoryListener current = listener;
+        if (current != null && start != 0) {
+            current.onFieldDecorated(pageObjectClass, fieldName, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ends the measurement of the creation of a Locator relative to its parent.
+     *
+     * @param event           the begun event
+     * @param start           the value returned by {@link #start()}
+     * @param pageObjectClass the class of the page object
+     * @param fieldName       the name of the field
+     * @param parentName      the name of the parent field
+     */
+    public static void parentResolutionDone(ParentResolutionEvent event, long start, Class<?> pageObjectClass,
+                                            String fieldName, String parentName) {
+        if (event.shouldCommit()) {
+            event.pageObjectClass = pageObjectClass;
+            event.fieldName = fieldName;
+            event.parentName = parentName;
+            event.commit();
+        }
+        PageFactoryListener current = listener;
+        if (current != null && start != 0) {
+            current.onParentResolved(pageObjectClass, fieldName, parentName, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ends the measurement of the query of the elements of a lazy list.
+     *
+     * @param event           the begun event
+     * @param start           the value returned by {@link #start()}
+     * @param pageObjectClass the class of the page object, or null
+     * @param fieldName       the name of the field, or null
+     * @param locator         the Locator of the elements
+     * @param count           the number of elements found
+     */
+    public static void elementQueryDone(ElementQueryEvent event, long start, Class<?> pageObjectClass,
+                                        String fieldName, Locator locator, int count) {
+        if (event.shouldCommit()) {
+            event.pageObjectClass = pageObjectClass;
+            event.fieldName = fieldName;
+            event.locator = String.valueOf(locator);
+            event.count = count;
+            event.commit();
+        }
+        PageFactoryListener current = listener;
+        if (current != null && start != 0) {
+            current.onElementsQueried(pageObjectClass, fieldName, count, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ends the measurement of the creation of a page object by {@code PageProducer}.
+     *
+     * @param event           the begun event
+     * @param start           the value returned by {@link #start()}
+     * @param pageObjectClass the class of the page object
+     * @param cached          true if the page object was taken from the page cache
+     */
+    public static void pageProduceDone(PageProduceEvent event, long start, Class<?> pageObjectClass, boolean cached) {
+        if (event.shouldCommit()) {
+            event.pageObjectClass = pageObjectClass;
+            event.cached = cached;
+            event.commit();
+        }
+        PageFactoryListener current = listener;
+        if (current != null && start != 0) {
+            current.onPageProduced(pageObjectClass, cached, System.nanoTime() - start);
+        }
+    }
+
+    private static PageFactoryListener loadListeners() {
+        List<PageFactoryListener> listeners = new ArrayList<>();
+        ServiceLoader.load(PageFactoryListener.class).forEach(listeners::add);
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        return listeners.size() == 1 ? listeners.get(0) : new CompositeListener(listeners);
+    }
+
+    /**
+     * Notifies several listeners found by the {@link ServiceLoader}, in order.
+     */
+    private static final class CompositeListener implements PageFactoryListener {
+        private final List<PageFactoryListener> listeners;
+
+        private CompositeListener(List<PageFactoryListener> listeners) {
+            this.listeners = List.copyOf(listeners);
+        }
+
+        @Override
+        public void onPageInitialized(Class<?> pageObjectClass, boolean generated, long durationNanos) {
+            listeners.forEach(l -> l.onPageInitialized(pageObjectClass, generated, durationNanos));
+        }
+
+        @Override
+        public void onFieldDecorated(Class<?> pageObjectClass, String fieldName, long durationNanos) {
+            listeners.forEach(l -> l.onFieldDecorated(pageObjectClass, fieldName, durationNanos));
+        }
+
+        @Override
+        public void onParentResolved(Class<?> pageObjectClass, String fieldName, String parentName, long durationNanos) {
+            listeners.forEach(l -> l.onParentResolved(pageObjectClass, fieldName, parentName, durationNanos));
+        }
+
+        @Override
+        public void onElementsQueried(Class<?> pageObjectClass, String fieldName, int count, long durationNanos) {
+            listeners.forEach(l -> l.onElementsQueried(pageObjectClass, fieldName, count, durationNanos));
+        }
+
+        @Override
+        public void onPageProduced(Class<?> pageObjectClass, boolean cached, long durationNanos) {
+            listeners.forEach(l -> l.onPageProduced(pageObjectClass, cached, durationNanos));
+        }
+    }
+}
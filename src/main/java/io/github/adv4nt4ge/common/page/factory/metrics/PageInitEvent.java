@@ -0,0 +1,23 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the initialization of the fields of a page object.
+ */
+@Name("io.github.adv4nt4ge.PageInit")
+@Label("Page Init")
+@Description("Initialization of the fields of a page object")
+@Category("Playwright Factory")
+@StackTrace(false)
+public final class PageInitEvent extends jdk.jfr.Event {
+    @Label("Page Object Class")
+    Class<?> pageObjectClass;
+
+    @Label("Generated Initializer")
+    boolean generated;
+}
@@ -0,0 +1,23 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the creation of a page object by {@code PageProducer}.
+ */
+@Name("io.github.adv4nt4ge.PageProduce")
+@Label("Page Produce")
+@Description("Creation of a page object by PageProducer")
+@Category("Playwright Factory")
+@StackTrace(false)
+public final class PageProduceEvent extends jdk.jfr.Event {
+    @Label("Page Object Class")
+    Class<?> pageObjectClass;
+
+    @Label("Cached")
+    boolean cached;
+}
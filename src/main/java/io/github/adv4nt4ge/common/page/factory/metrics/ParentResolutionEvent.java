@@ -0,0 +1,29 @@
+package io.github.adv4nt4ge.common.page.factory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the creation of a Locator relative to the Locator of its {@code @Parent}.
+ * Disabled by default, as it is recorded for every field with a {@code @Parent}.
+ */
+@Name("io.github.adv4nt4ge.ParentResolution")
+@Label("Parent Resolution")
+@Description("Creation of a Locator relative to the Locator of its @Parent")
+@Category("Playwright Factory")
+@StackTrace(false)
+@Enabled(false)
+public final class ParentResolutionEvent extends jdk.jfr.Event {
+    @Label("Page Object Class")
+    Class<?> pageObjectClass;
+
+    @Label("Field")
+    String fieldName;
+
+    @Label("Parent Field")
+    String parentName;
+}
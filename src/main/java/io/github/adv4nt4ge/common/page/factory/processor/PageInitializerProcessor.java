@@ -0,0 +1,563 @@
+package io.github.adv4nt4ge.common.page.factory.processor;
+
+import io.github.adv4nt4ge.common.page.factory.PageInitializer;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindAll;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.annotations.Frame;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor that generates a {@code <PageClass>_Initializer} for every page object class with
+ * {@code @FindBy} fields. The generated initializer creates the locators in dependency order and assigns them
+ * directly, so {@link io.github.adv4nt4ge.common.page.factory.PageFactory} does not need reflection for the class.
+ * Component fields are created through {@link io.github.adv4nt4ge.common.page.factory.ComponentFactory}, and
+ * alternative {@code @FindBy} strategies are combined with {@code or()} or through
+ * {@link io.github.adv4nt4ge.common.page.factory.RankedLocator}.
+ * <p>
+ * Ambiguous {@code @FindBy} annotations, unknown {@code @Parent} names and {@code @Parent} cycles are reported as
+ * compile errors. Classes whose fields can not be assigned from generated code, such as private or final fields,
+ * are skipped and keep using the reflective initialization.
+ * <p>
+ * The processor is not registered as a service, enable it with the {@code -processor} compiler option.
+ */
+@SupportedAnnotationTypes("*")
+public class PageInitializerProcessor extends AbstractProcessor {
+    private static final String LOCATOR = "com.microsoft.playwright.Locator";
+    private static final String ELEMENT_HANDLE = "com.microsoft.playwright.ElementHandle";
+    private static final String LIST = "java.util.List";
+    private static final String SUPPLIER = "java.util.function.Supplier";
+    private static final String COMPONENT_FACTORY = "io.github.adv4nt4ge.common.page.factory.ComponentFactory";
+    private static final String RANKED_LOCATOR = "io.github.adv4nt4ge.common.page.factory.RankedLocator";
+    private static final Map<String, String> METHODS = Map.of(
+            "testId", "getByTestId",
+            "altText", "getByAltText",
+            "label", "getByLabel",
+            "placeholder", "getByPlaceholder",
+            "text", "getByText",
+            "title", "getByTitle",
+            "locator", "locator");
+    private static final Map<String, String> KINDS = Map.of(
+            "testId", "TEST_ID",
+            "altText", "ALT_TEXT",
+            "label", "LABEL",
+            "placeholder", "PLACEHOLDER",
+            "text", "TEXT",
+            "title", "TITLE",
+            "locator", "LOCATOR");
+
+    private final Set<String> generated = new HashSet<>();
+    private final Set<String> reported = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type);
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(memberType);
+        }
+
+        boolean concreteClass = type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT);
+        boolean named = type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER;
+        if (!concreteClass || !named || generated.contains(type.getQualifiedName().toString())) {
+            return;
+        }
+
+        List<FieldModel> fields = analyse(type);
+        if (fields != null && !fields.isEmpty()) {
+            write(type, fields);
+            generated.add(type.getQualifiedName().toString());
+        }
+    }
+
+    /**
+     * Collects the {@code @FindBy} fields of the class hierarchy in initialization order.
+     *
+     * @param type the page object class
+     * @return the fields to initialize, or null if no initializer can be generated for the class
+     */
+    private List<FieldModel> analyse(TypeElement type) {
+        List<TypeElement> classes = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            classes.add(current);
+        }
+        Collections.reverse(classes);
+
+        String packageName = packageOf(type);
+        boolean valid = isAccessible(type, packageName);
+        List<FieldModel> fields = new ArrayList<>();
+
+        for (TypeElement clazz : classes) {
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                FindBy[] findBys = field.getAnnotationsByType(FindBy.class);
+                if (findBys.length == 0) {
+                    continue;
+                }
+                FieldModel model = FieldModel.of(clazz, field, findBys);
+                if (model.ambiguous != null) {
+                    error(field, "Only one attribute of @FindBy can be set, found: "
+                            + String.join(", ", model.ambiguous));
+                    valid = false;
+                    continue;
+                }
+                if (model.strategies.isEmpty()) {
+                    continue;
+                }
+                model.list = isType(field.asType(), LIST);
+                model.listFactory = model.list ? listFactory((DeclaredType) field.asType()) : null;
+                if (model.listFactory == null) {
+                    componentFactory(model, field.asType(), packageName);
+                }
+                valid &= (model.list ? model.listFactory != null || model.component != null
+                        : isType(field.asType(), LOCATOR) || model.component != null)
+                        && isAssignable(clazz, field, packageName);
+                fields.add(model);
+            }
+        }
+
+        List<FieldModel> ordered = order(type, fields);
+        return valid && ordered != null && resolveFrames(ordered) ? ordered : null;
+    }
+
+    /**
+     * Sorts the fields so every field comes after the field named by its {@code @Parent} annotation,
+     * reporting unknown parents and cycles.
+     *
+     * @param type   the page object class
+     * @param fields the fields of the class hierarchy, base classes first
+     * @return the fields in initialization order, or null if the dependencies can not be resolved
+     */
+    private List<FieldModel> order(TypeElement type, List<FieldModel> fields) {
+        Map<String, FieldModel> byName = fieldsByName(fields);
+        List<FieldModel> ordered = new ArrayList<>();
+        Set<FieldModel> done = new HashSet<>();
+        Set<FieldModel> inProgress = new HashSet<>();
+        boolean valid = true;
+
+        for (FieldModel field : fields) {
+            Deque<FieldModel> path = new ArrayDeque<>();
+            FieldModel current = field;
+
+            while (current != null && !done.contains(current)) {
+                if (!inProgress.add(current)) {
+                    List<FieldModel> cycle = new ArrayList<>(path);
+                    Collections.reverse(cycle);
+                    String names = cycle.subList(cycle.indexOf(current), cycle.size()).stream()
+                            .map(f -> f.name).collect(Collectors.joining(" -> "));
+                    error(current.element, "Cycle in @Parent dependencies of " + type.getQualifiedName()
+                            + ": " + names + " -> " + current.name);
+                    valid = false;
+                    break;
+                }
+                path.push(current);
+
+                if (current.parent == null) {
+                    break;
+                }
+                FieldModel parent = byName.get(current.parent);
+                if (parent == null) {
+                    error(current.element, "Unable to find the @Parent \"" + current.parent + "\" of field "
+                            + current.name + " in " + type.getQualifiedName());
+                    valid = false;
+                    break;
+                }
+                if (parent.list || parent.component != null) {
+                    error(current.element, "The @Parent \"" + current.parent + "\" of field " + current.name
+                            + " must be a Locator");
+                    valid = false;
+                    break;
+                }
+                current = parent;
+            }
+
+            while (!path.isEmpty()) {
+                FieldModel resolved = path.pop();
+                inProgress.remove(resolved);
+                done.add(resolved);
+                ordered.add(resolved);
+            }
+        }
+        return valid ? ordered : null;
+    }
+
+    /**
+     * Places the fields with a {@code @Parent} in frames, as {@code PageBlueprint} does: a child whose frames are not
+     * inside the frames of its parent is in the frames of the parent, unless the child has its own {@code @Frame}.
+     *
+     * @param ordered the fields in initialization order, parents first
+     * @return false if the own {@code @Frame} of a field is not inside the frames of its parent
+     */
+    private boolean resolveFrames(List<FieldModel> ordered) {
+        Map<String, FieldModel> byName = fieldsByName(ordered);
+        boolean valid = true;
+        for (FieldModel field : ordered) {
+            if (field.parent == null) {
+                continue;
+            }
+            FieldModel parent = byName.get(field.parent);
+            if (field.frames.size() >= parent.frames.size()
+                    && field.frames.subList(0, parent.frames.size()).equals(parent.frames)) {
+                continue;
+            }
+            if (field.fieldFrame) {
+                error(field.element, "The @Frame " + field.frames + " of field " + field.name
+                        + " must be inside the @Frame " + parent.frames + " of its @Parent \"" + field.parent + "\"");
+                valid = false;
+            } else {
+                field.frames = parent.frames;
+            }
+        }
+        return valid;
+    }
+
+    private void write(TypeElement type, List<FieldModel> fields) {
+        String packageName = packageOf(type);
+        String simpleName = binaryName(type).substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_') + PageInitializer.SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String pageType = type.getQualifiedName().toString();
+
+        Map<String, FieldModel> byName = fieldsByName(fields);
+        Map<List<String>, String> frames = new HashMap<>();
+        List<String> frameDeclarations = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+
+        for (FieldModel field : fields) {
+            String source;
+            if (field.parent != null) {
+                FieldModel parent = byName.get(field.parent);
+                source = fieldReference(type, parent);
+                for (String frame : field.frames.subList(parent.frames.size(), field.frames.size())) {
+                    source += ".frameLocator(" + literal(frame) + ")";
+                }
+            } else {
+                source = frameVariable(field.frames, frames, frameDeclarations);
+            }
+
+            String locator = locator(source, field);
+            String value;
+            if (field.component != null) {
+                value = COMPONENT_FACTORY + "." + field.componentFactory + "(" + field.component + ".class, " + locator
+                        + (field.list ? ", " + pageType + ".class, " + literal(field.name) + ")" : ")");
+            } else if (field.list) {
+                value = "io.github.adv4nt4ge.common.page.factory.LazyElementList." + field.listFactory + "(" + locator
+                        + ", " + pageType + ".class, " + literal(field.name) + ")";
+            } else {
+                value = locator;
+            }
+            assignments.add(fieldReference(type, field) + " = " + value + ";");
+        }
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + simpleName
+                    + " implements io.github.adv4nt4ge.common.page.factory.PageInitializer<" + pageType + "> {");
+            out.println("    @Override");
+            out.println("    public void initElements(" + pageType + " pageObject, com.microsoft.playwright.Page page) {");
+            for (String frameDeclaration : frameDeclarations) {
+                out.println("        " + frameDeclaration);
+            }
+            for (String assignment : assignments) {
+                out.println("        " + assignment);
+            }
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(type, "Unable to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the expression creating the Locator of a field from its strategies, as {@code LocatorFactory} does.
+     *
+     * @param source the expression of the Page, FrameLocator or parent Locator the field is located in
+     * @param field  the field
+     * @return the expression
+     */
+    private String locator(String source, FieldModel field) {
+        List<String> alternatives = new ArrayList<>();
+        List<String> selectors = new ArrayList<>();
+        for (Map.Entry<String, String> strategy : field.strategies) {
+            alternatives.add(source + "." + METHODS.get(strategy.getKey()) + "(" + literal(strategy.getValue()) + ")");
+            // the key of LocatorStats.key(owner, field, selector)
+            selectors.add(literal(binaryName(field.declaringClass) + "#" + field.name + " "
+                    + KINDS.get(strategy.getKey()) + "=" + strategy.getValue()));
+        }
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        if (field.ranked) {
+            return RANKED_LOCATOR + ".of(java.util.List.of(" + String.join(", ", alternatives)
+                    + "), java.util.List.of(" + String.join(", ", selectors) + "))";
+        }
+        StringBuilder locator = new StringBuilder(alternatives.get(0));
+        for (String alternative : alternatives.subList(1, alternatives.size())) {
+            locator.append(".or(").append(alternative).append(")");
+        }
+        return locator.toString();
+    }
+
+    /**
+     * Returns the variable holding the FrameLocator of nested frames, declaring it and the variables of the outer
+     * frames on first use, so all fields in the same frames share one FrameLocator.
+     *
+     * @param scope        the selectors of the frames, outermost first
+     * @param frames       the declared variables by frames
+     * @param declarations the declarations of the variables, outer frames first
+     * @return the name of the variable, or {@code page} if the scope is empty
+     */
+    private String frameVariable(List<String> scope, Map<List<String>, String> frames, List<String> declarations) {
+        if (scope.isEmpty()) {
+            return "page";
+        }
+        String variable = frames.get(scope);
+        if (variable == null) {
+            String outer = frameVariable(scope.subList(0, scope.size() - 1), frames, declarations);
+            variable = "frame" + frames.size();
+            frames.put(scope, variable);
+            declarations.add("com.microsoft.playwright.FrameLocator " + variable + " = " + outer
+                    + ".frameLocator(" + literal(scope.get(scope.size() - 1)) + ");");
+        }
+        return variable;
+    }
+
+    private static Map<String, FieldModel> fieldsByName(List<FieldModel> fields) {
+        Map<String, FieldModel> byName = new HashMap<>();
+        for (FieldModel field : fields) {
+            byName.put(field.name, field);
+        }
+        return byName;
+    }
+
+    private static String fieldReference(TypeElement type, FieldModel field) {
+        if (field.declaringClass.equals(type)) {
+            return "pageObject." + field.name;
+        }
+        return "((" + field.declaringClass.getQualifiedName() + ") pageObject)." + field.name;
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private boolean isType(TypeMirror type, String name) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        return erasure.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().contentEquals(name);
+    }
+
+    /**
+     * Returns the {@code LazyElementList} factory method for a {@code List} field.
+     *
+     * @param listType the type of the field
+     * @return the factory method, or null if the element type is not supported
+     */
+    private String listFactory(DeclaredType listType) {
+        if (listType.getTypeArguments().isEmpty() || isType(listType.getTypeArguments().get(0), ELEMENT_HANDLE)) {
+            return "elementHandles";
+        }
+        return isType(listType.getTypeArguments().get(0), LOCATOR) ? "locators" : null;
+    }
+
+    /**
+     * Sets the component class and the {@code ComponentFactory} method of a field holding a component, a
+     * {@code Supplier} of a component or a {@code List} of components, as {@code ComponentFactory.isComponentType}
+     * accepts them.
+     *
+     * @param model       the field
+     * @param type        the type of the field
+     * @param packageName the package of the generated initializer
+     */
+    private void componentFactory(FieldModel model, TypeMirror type, String packageName) {
+        TypeMirror componentType = type;
+        String factory = "create";
+        if (model.list || isType(type, SUPPLIER)) {
+            List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+            if (arguments.isEmpty()) {
+                return;
+            }
+            componentType = arguments.get(0);
+            factory = model.list ? "list" : "lazy";
+        }
+        if (componentType.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+
+        TypeElement component = (TypeElement) processingEnv.getTypeUtils().asElement(componentType);
+        String name = component.getQualifiedName().toString();
+        if (component.getKind() != ElementKind.CLASS || component.getModifiers().contains(Modifier.ABSTRACT)
+                || name.startsWith("java.") || name.startsWith("com.microsoft.playwright.")
+                || !isAccessible(component, packageName) || !hasComponentConstructor(component)) {
+            return;
+        }
+        model.component = name;
+        model.componentFactory = factory;
+    }
+
+    private boolean hasComponentConstructor(TypeElement component) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(component.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (parameters.isEmpty() || parameters.size() == 1 && isType(parameters.get(0).asType(), LOCATOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAssignable(TypeElement declaringClass, VariableElement field, String packageName) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                || modifiers.contains(Modifier.STATIC) || !isAccessible(declaringClass, packageName)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) || packageOf(declaringClass).equals(packageName);
+    }
+
+    private boolean isAccessible(TypeElement type, String packageName) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageOf((TypeElement) current).equals(packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void error(Element element, String message) {
+        if (!reported.add(message)) {
+            return;
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * A {@code @FindBy} field as seen by the processor.
+     */
+    private static final class FieldModel {
+        TypeElement declaringClass;
+        VariableElement element;
+        String name;
+        List<Map.Entry<String, String>> strategies;
+        List<String> ambiguous;
+        boolean ranked;
+        String parent;
+        List<String> frames;
+        boolean fieldFrame;
+        boolean list;
+        String listFactory;
+        String component;
+        String componentFactory;
+
+        static FieldModel of(TypeElement declaringClass, VariableElement field, FindBy[] findBys) {
+            FieldModel model = new FieldModel();
+            model.declaringClass = declaringClass;
+            model.element = field;
+            model.name = field.getSimpleName().toString();
+
+            model.strategies = new ArrayList<>();
+            for (FindBy findBy : findBys) {
+                Map<String, String> attributes = new LinkedHashMap<>();
+                add(attributes, "testId", findBy.testId());
+                add(attributes, "altText", findBy.altText());
+                add(attributes, "label", findBy.label());
+                add(attributes, "placeholder", findBy.placeholder());
+                add(attributes, "text", findBy.text());
+                add(attributes, "title", findBy.title());
+                add(attributes, "locator", findBy.locator());
+                if (attributes.size() > 1 && model.ambiguous == null) {
+                    model.ambiguous = new ArrayList<>(attributes.keySet());
+                }
+                if (!attributes.isEmpty()) {
+                    model.strategies.add(attributes.entrySet().iterator().next());
+                }
+            }
+            FindAll findAll = field.getAnnotation(FindAll.class);
+            model.ranked = findAll != null && findAll.ranked();
+
+            Parent parent = field.getAnnotation(Parent.class);
+            model.parent = parent == null ? null : parent.value();
+
+            Frame frame = field.getAnnotation(Frame.class);
+            model.fieldFrame = frame != null;
+            if (frame == null) {
+                frame = declaringClass.getAnnotation(Frame.class);
+            }
+            model.frames = frame == null ? List.of() : List.of(frame.frame());
+            return model;
+        }
+
+        private static void add(Map<String, String> strategies, String method, String value) {
+            if (!value.isEmpty()) {
+                strategies.put(method, value);
+            }
+        }
+    }
+}
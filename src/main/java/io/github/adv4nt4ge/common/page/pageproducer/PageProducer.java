@@ -3,30 +3,117 @@ package io.github.adv4nt4ge.common.page.pageproducer;
 
 import com.microsoft.playwright.Page;
 import io.github.adv4nt4ge.common.Application;
+import io.github.adv4nt4ge.common.network.NetworkRules;
 import io.github.adv4nt4ge.common.pages.BasePage;
 import io.github.adv4nt4ge.common.page.factory.ElementFieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.FieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.InstrumentingFieldDecorator;
 import io.github.adv4nt4ge.common.page.factory.PageFactory;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageFactoryMetrics;
+import io.github.adv4nt4ge.common.page.factory.metrics.PageProduceEvent;
+import io.github.adv4nt4ge.common.utils.BrowserStarter;
+import io.github.adv4nt4ge.common.utils.Settings;
 import lombok.SneakyThrows;
 
-import static io.github.adv4nt4ge.common.utils.BrowserStarter.getPage;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PageProducer {
+    private static final boolean LOCATOR_METRICS = Settings.getBoolean("locator.metrics", false);
 
     protected Application application;
+    private final boolean cachePages;
+    private final Map<Page, Map<Class<?>, BasePage>> pageCache = Collections.synchronizedMap(new IdentityHashMap<>());
 
     public PageProducer(Application application) {
+        this(application, Settings.getBoolean("page.cache", false));
+    }
+
+    /**
+     * Constructs a PageProducer.
+     *
+     * @param application the application the pages belong to
+     * @param cachePages  true to return the same page object for the same Page and page class. Cached page objects
+     *                    invalidate their lazy lists when a frame of the Page navigates or detaches.
+     */
+    public PageProducer(Application application, boolean cachePages) {
         this.application = application;
+        this.cachePages = cachePages;
     }
 
     public <T> T initPageElements(T page) {
-        PageFactory.initElements(page, new ElementFieldDecorator(getPage()));
+        PageFactory.initElements(page, createDecorator());
         return page;
     }
 
-    @SneakyThrows
+    /**
+     * Returns the decorator of the page objects, shared by all page objects of the Page. With
+     * {@code -Dplaywright.factory.locator.metrics=true} the latency of the Locator actions is recorded by an
+     * {@link InstrumentingFieldDecorator}.
+     *
+     * @return the decorator
+     */
+    protected FieldDecorator createDecorator() {
+        return LOCATOR_METRICS ? InstrumentingFieldDecorator.of(getPage()) : ElementFieldDecorator.of(getPage());
+    }
+
     public <T extends BasePage> T initPages(Class<? extends BasePage> pageClazz) {
+        PageProduceEvent event = new PageProduceEvent();
+        event.begin();
+        long start = PageFactoryMetrics.start();
+        if (!cachePages) {
+            BasePage pageInstance = createPage(pageClazz);
+            PageFactoryMetrics.pageProduceDone(event, start, pageClazz, false);
+            return (T) pageInstance;
+        }
+
+        Map<Class<?>, BasePage> pages = pageCache.get(getPage());
+        if (pages == null) {
+            pages = watch(getPage());
+        }
+        BasePage pageInstance = pages.get(pageClazz);
+        boolean cached = pageInstance != null;
+        if (!cached) {
+            pageInstance = createPage(pageClazz);
+            pages.put(pageClazz, pageInstance);
+        }
+        PageFactoryMetrics.pageProduceDone(event, start, pageClazz, cached);
+        return (T) pageInstance;
+    }
+
+    /**
+     * @return the Page the page objects are created for, the Page of the current test by default
+     */
+    protected Page getPage() {
+        return BrowserStarter.getPage();
+    }
+
+    /**
+     * Creates a page object, installing the routes of its {@code @Har} and {@code @BlockResources} annotations on the
+     * page first.
+     */
+    @SneakyThrows
+    private BasePage createPage(Class<? extends BasePage> pageClazz) {
+        NetworkRules.of(pageClazz).install(getPage(), pageClazz);
         var page = pageClazz.getDeclaredConstructor(Page.class, Application.class);
         var pageInstance = page.newInstance(getPage(), application);
-        return (T) initPageElements(pageInstance);
+        return initPageElements(pageInstance);
+    }
+
+    /**
+     * Starts caching the page objects of the Page, invalidating their lazy lists on navigation.
+     *
+     * @param page the Page to cache page objects for
+     * @return the cache of the Page
+     */
+    private Map<Class<?>, BasePage> watch(Page page) {
+        Map<Class<?>, BasePage> pages = new ConcurrentHashMap<>();
+        pageCache.put(page, pages);
+        page.onFrameNavigated(frame -> pages.values().forEach(PageFactory::invalidateElements));
+        page.onFrameDetached(frame -> pages.values().forEach(PageFactory::invalidateElements));
+        page.onClose(closed -> pageCache.remove(page));
+        return pages;
     }
-}
\ No newline at end of file
+}
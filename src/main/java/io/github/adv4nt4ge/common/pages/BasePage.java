@@ -2,6 +2,7 @@ package io.github.adv4nt4ge.common.pages;
 
 import com.microsoft.playwright.Page;
 import io.github.adv4nt4ge.common.Application;
+import io.github.adv4nt4ge.common.page.factory.PageSnapshot;
 
 
 public class BasePage {
@@ -14,4 +15,14 @@ public class BasePage {
         this.application = application;
     }
 
+    /**
+     * Reads the state of the {@code @FindBy} fields of the page in one browser round-trip.
+     *
+     * @param fieldNames the names of the fields to read, or none to read all Locator and list fields
+     * @return the snapshot of the page
+     */
+    public PageSnapshot snapshot(String... fieldNames) {
+        return PageSnapshot.of(page, this, fieldNames);
+    }
+
 }
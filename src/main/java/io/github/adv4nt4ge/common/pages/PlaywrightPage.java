@@ -4,6 +4,7 @@ import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import io.github.adv4nt4ge.common.Application;
+import io.github.adv4nt4ge.common.page.factory.PageSnapshot;
 import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
 import org.junit.jupiter.api.Assertions;
 
@@ -22,9 +23,10 @@ public class PlaywrightPage extends BasePage {
     }
 
     public PlaywrightPage checkIsVisibleStartedButtons() {
+        PageSnapshot snapshot = snapshot("getStartedBtn", "githubLinkBtn");
         Assertions.assertAll(
-                () -> Assertions.assertTrue(getStartedBtn.get(0).isVisible()),
-                () -> Assertions.assertTrue(githubLinkBtn.isVisible())
+                () -> Assertions.assertTrue(snapshot.get("getStartedBtn").isVisible()),
+                () -> Assertions.assertTrue(snapshot.get("githubLinkBtn").isVisible())
         );
         return this;
     }
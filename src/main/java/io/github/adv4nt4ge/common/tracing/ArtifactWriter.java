@@ -0,0 +1,106 @@
+package io.github.adv4nt4ge.common.tracing;
+
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the artifacts of failed tests on a background thread, so tests never wait for the disk or the compression.
+ * <p>
+ * At most {@code playwright.factory.trace.writer.queue} artifacts (32 by default) wait to be written. When the queue
+ * is full, new artifacts are dropped and counted instead of blocking the test. The queue is drained when the JVM ends.
+ */
+public final class ArtifactWriter {
+    private static final ArtifactWriter INSTANCE = new ArtifactWriter(Settings.getInt("trace.writer.queue", 32));
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder dropped = new LongAdder();
+
+    private ArtifactWriter(int queueSize) {
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                task -> {
+                    Thread thread = new Thread(task, "playwright-artifact-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> dropped.increment());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain));
+    }
+
+    /**
+     * @return the writer shared by the JVM
+     */
+    public static ArtifactWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of artifacts dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Queues the gzip-compressed writing of text lines.
+     *
+     * @param file  the file to write, usually ending with {@code .gz}
+     * @param lines the lines to write
+     */
+    public void writeCompressed(Path file, List<String> lines) {
+        executor.execute(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)),
+                        StandardCharsets.UTF_8)) {
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                // Artifacts are best effort, a failing disk must not fail the tests
+            }
+        });
+    }
+
+    /**
+     * Queues the writing of bytes.
+     *
+     * @param file  the file to write
+     * @param bytes the content of the file
+     */
+    public void write(Path file, byte[] bytes) {
+        executor.execute(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    out.write(bytes);
+                }
+            } catch (IOException e) {
+                // Artifacts are best effort, a failing disk must not fail the tests
+            }
+        });
+    }
+
+    private void drain() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.adv4nt4ge.common.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the last events of a test in memory, such as console messages, page errors, failed requests and navigations,
+ * overwriting the oldest ones once full. Recording an event only formats a line, the events are written only when the
+ * test fails.
+ */
+public class EventRingBuffer {
+    private final String[] events;
+    private long recorded;
+
+    /**
+     * Constructs an EventRingBuffer.
+     *
+     * @param capacity the number of events kept
+     */
+    public EventRingBuffer(int capacity) {
+        this.events = new String[Math.max(1, capacity)];
+    }
+
+    /**
+     * Records an event, dropping the oldest one when the buffer is full.
+     *
+     * @param type    the type of the event, e.g. {@code console}
+     * @param message the description of the event
+     */
+    public synchronized void record(String type, String message) {
+        events[(int) (recorded++ % events.length)] = Instant.now() + " [" + type + "] " + message;
+    }
+
+    /**
+     * @return the number of events dropped because the buffer was full
+     */
+    public synchronized long getDropped() {
+        return Math.max(0, recorded - events.length);
+    }
+
+    /**
+     * @return the kept events, oldest first
+     */
+    public synchronized List<String> snapshot() {
+        int size = (int) Math.min(recorded, events.length);
+        List<String> snapshot = new ArrayList<>(size);
+        for (long i = recorded - size; i < recorded; i++) {
+            snapshot.add(events[(int) (i % events.length)]);
+        }
+        return snapshot;
+    }
+}
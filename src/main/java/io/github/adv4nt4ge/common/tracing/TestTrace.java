@@ -0,0 +1,126 @@
+package io.github.adv4nt4ge.common.tracing;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Tracing;
+import io.github.adv4nt4ge.common.utils.Settings;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Traces one test, keeping the artifacts only when the test fails ({@code -Dplaywright.factory.trace=true}).
+ * <p>
+ * Every test gets a new context, and tracing is started on it before its first page is opened, so the first navigation
+ * is traced. While the test runs, the Playwright driver streams the trace events and resources to its temporary traces
+ * directory, and the console messages, page errors, failed requests and navigations are kept in an
+ * {@link EventRingBuffer}. When the test passes, tracing is stopped without exporting the trace. When it fails, the
+ * trace is exported as {@code trace.zip} in a directory of {@code playwright.factory.trace.dir} (target/traces by
+ * default), and the compressed events are written by the {@link ArtifactWriter}. The trace is exported on the test
+ * thread, which waits for the driver to write {@code trace.zip}. When the trace has no screenshots, a screenshot of
+ * every page is taken there too and written by the {@link ArtifactWriter}.
+ * <p>
+ * The content of the trace is set by {@code playwright.factory.trace.screenshots} and
+ * {@code playwright.factory.trace.snapshots} (both true by default) and {@code playwright.factory.trace.sources}, and
+ * the number of events kept by {@code playwright.factory.trace.events} (500 by default).
+ */
+public final class TestTrace {
+    private static final Path TRACE_DIR = Paths.get(Settings.getString("trace.dir", "target/traces"));
+    private static final boolean SCREENSHOTS = Settings.getBoolean("trace.screenshots", true);
+
+    private final BrowserContext context;
+    private final EventRingBuffer events = new EventRingBuffer(Settings.getInt("trace.events", 500));
+    private volatile String failedTest;
+
+    private TestTrace(BrowserContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts tracing a test, before the first page of its context is opened.
+     *
+     * @param context the new context of the test
+     * @return the trace of the test
+     */
+    public static TestTrace start(BrowserContext context) {
+        TestTrace trace = new TestTrace(context);
+        context.tracing().start(new Tracing.StartOptions()
+                .setScreenshots(SCREENSHOTS)
+                .setSnapshots(Settings.getBoolean("trace.snapshots", true))
+                .setSources(Settings.getBoolean("trace.sources", false)));
+        context.pages().forEach(trace::watch);
+        context.onPage(trace::watch);
+        return trace;
+    }
+
+    /**
+     * Marks the test as failed, so its artifacts are kept.
+     *
+     * @param testName the name of the test, used for the directory of its artifacts
+     */
+    public void markFailed(String testName) {
+        failedTest = testName;
+    }
+
+    /**
+     * @return the events of the test kept so far
+     */
+    public EventRingBuffer getEvents() {
+        return events;
+    }
+
+    /**
+     * Stops tracing the test, before its context is closed. The trace is exported only if the test failed.
+     */
+    public void finish() {
+        String testName = failedTest;
+        try {
+            if (testName == null) {
+                context.tracing().stop();
+                return;
+            }
+            Path dir = TRACE_DIR.resolve(testName.replaceAll("[^a-zA-Z0-9._-]", "_") + "-" + System.currentTimeMillis());
+            context.tracing().stop(new Tracing.StopOptions().setPath(dir.resolve("trace.zip")));
+            if (!SCREENSHOTS) {
+                // The screenshots of the trace already show the last state of the pages
+                List<Page> pages = context.pages();
+                for (int i = 0; i < pages.size(); i++) {
+                    byte[] screenshot = screenshot(pages.get(i));
+                    if (screenshot != null) {
+                        ArtifactWriter.getInstance().write(dir.resolve("page-" + i + ".png"), screenshot);
+                    }
+                }
+            }
+            List<String> lines = events.snapshot();
+            if (events.getDropped() > 0) {
+                lines.add(0, events.getDropped() + " earlier events were dropped");
+            }
+            ArtifactWriter.getInstance().writeCompressed(dir.resolve("events.log.gz"), lines);
+        } catch (PlaywrightException e) {
+            // The browser crashed during the test, there is no trace to save
+        }
+    }
+
+    private static byte[] screenshot(Page page) {
+        try {
+            return page.screenshot();
+        } catch (PlaywrightException e) {
+            return null;
+        }
+    }
+
+    private void watch(Page page) {
+        page.onConsoleMessage(message -> events.record("console." + message.type(), message.text()));
+        page.onPageError(error -> events.record("pageerror", error));
+        page.onRequestFailed(request -> events.record("requestfailed",
+                request.method() + " " + request.url() + " " + request.failure()));
+        page.onFrameNavigated(frame -> {
+            if (frame.parentFrame() == null) {
+                events.record("navigated", frame.url());
+            }
+        });
+        page.onCrash(crashed -> events.record("crash", crashed.url()));
+    }
+}
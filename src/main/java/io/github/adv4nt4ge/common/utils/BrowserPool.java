@@ -0,0 +1,73 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps one Playwright driver and browser per worker thread for the life of the JVM, so tests only pay for a new
+ * {@code BrowserContext} and {@code Page}.
+ * <p>
+ * At most {@code playwright.factory.browser.pool.size} browsers are pooled (the number of processors by default).
+ * Workers beyond that limit get a browser that is closed when their test ends. A browser that crashed or
+ * disconnected is relaunched the next time its worker acquires it. Pooled drivers end together with the JVM.
+ */
+public class BrowserPool {
+    private static final ThreadLocal<PooledBrowser> WORKER_BROWSER = new ThreadLocal<>();
+
+    private final Function<Playwright, Browser> launcher;
+    private final int size;
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Constructs a BrowserPool.
+     *
+     * @param launcher the Function launching a browser with a new Playwright driver
+     * @param size     the maximum number of pooled browsers
+     */
+    public BrowserPool(Function<Playwright, Browser> launcher, int size) {
+        this.launcher = launcher;
+        this.size = size;
+    }
+
+    /**
+     * Returns the healthy browser of the current worker thread, launching or relaunching it when needed.
+     *
+     * @return the browser to create the test's context in
+     */
+    public PooledBrowser acquire() {
+        PooledBrowser browser = WORKER_BROWSER.get();
+        if (browser != null) {
+            if (!browser.isHealthy()) {
+                browser.relaunch();
+            }
+            return browser;
+        }
+
+        if (pooled.incrementAndGet() > size) {
+            pooled.decrementAndGet();
+            return new PooledBrowser(launcher, false);
+        }
+        try {
+            browser = new PooledBrowser(launcher, true);
+        } catch (RuntimeException e) {
+            pooled.decrementAndGet();
+            throw e;
+        }
+        WORKER_BROWSER.set(browser);
+        return browser;
+    }
+
+    /**
+     * Hands the browser back at the end of a test. Browsers that are not pooled are closed.
+     *
+     * @param browser the browser returned by {@link #acquire()}
+     */
+    public void release(PooledBrowser browser) {
+        if (!browser.isPooled()) {
+            browser.close();
+        }
+    }
+}
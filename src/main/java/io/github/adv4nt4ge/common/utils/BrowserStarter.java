@@ -1,14 +1,61 @@
 package io.github.adv4nt4ge.common.utils;
 
 import com.microsoft.playwright.*;
+import io.github.adv4nt4ge.common.network.NetworkRules;
+import io.github.adv4nt4ge.common.network.StaticAssetCache;
+import io.github.adv4nt4ge.common.tracing.TestTrace;
 import lombok.SneakyThrows;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class BrowserStarter {
 
     private static final ThreadLocal<Page> PAGE_THREAD_LOCAL = new ThreadLocal<>();
     private static final ThreadLocal<Playwright> PLAYWRIGHT_THREAD_LOCAL = new ThreadLocal<>();
     private static final ThreadLocal<Browser> BROWSER_THREAD_LOCAL = new ThreadLocal<>();
     private static final ThreadLocal<BrowserContext> BROWSER_CONTEXT_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<PooledBrowser> POOLED_BROWSER_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<PagePrefetcher> PREFETCHER_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<DriverThread> DRIVER_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<RemoteSession> REMOTE_SESSION_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<TestTrace> TRACE_THREAD_LOCAL = new ThreadLocal<>();
+
+    private static final String START_URL = "https://playwright.dev/java/";
+
+    private static final boolean POOLED = Settings.getBoolean("browser.pool", false);
+    private static final boolean TRACE = Settings.getBoolean("trace", false);
+    // Prefetched pages navigate before their test starts, so they cannot be traced from the first navigation
+    private static final boolean PREFETCH = POOLED && !TRACE && Settings.getBoolean("browser.prefetch", false);
+    private static final int POOL_SIZE = Settings.getInt("browser.pool.size",
+            Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger PREFETCHERS = new AtomicInteger();
+    private static final StorageStateCache STORAGE_STATES = new StorageStateCache();
+    private static final BrowserPool BROWSER_POOL = new BrowserPool(BrowserStarter::launchBrowser, POOL_SIZE);
+    private static final boolean ASSET_CACHE = Settings.getBoolean("asset.cache", false);
+    private static final RemoteBrowserPool REMOTE_POOL = RemoteBrowserPool.fromSettings();
+    private static final int DRIVER_THREADS = Settings.getInt("driver.threads", 0);
+    private static final DriverScheduler DRIVER_SCHEDULER = DRIVER_THREADS > 0
+            ? new DriverScheduler(BrowserStarter::launchBrowser, DRIVER_THREADS,
+            Settings.getInt("driver.sessions.per.thread", 1)) : null;
+
+    private final NetworkRules networkRules;
+
+    /**
+     * Constructs a BrowserStarter installing the routes of the {@code playwright.factory.network.*} properties.
+     */
+    public BrowserStarter() {
+        this(NetworkRules.fromSettings());
+    }
+
+    /**
+     * Constructs a BrowserStarter installing the specified routes on the context of the test, before the start URL
+     * is loaded.
+     *
+     * @param networkRules the routes of the context, e.g. a HAR to serve the traffic from
+     */
+    public BrowserStarter(NetworkRules networkRules) {
+        this.networkRules = networkRules;
+    }
 
     public static Playwright getPlaywright() {
         return PLAYWRIGHT_THREAD_LOCAL.get();
@@ -26,16 +73,112 @@ public class BrowserStarter {
         return PAGE_THREAD_LOCAL.get();
     }
 
+    public static StorageStateCache getStorageStates() {
+        return STORAGE_STATES;
+    }
+
+    /**
+     * Marks the running test as failed, so its trace is saved when the page is closed
+     * ({@code -Dplaywright.factory.trace=true}). Does nothing when tracing is off.
+     *
+     * @param testName the name of the test, used for the directory of its artifacts
+     */
+    public static void markFailed(String testName) {
+        TestTrace trace = TRACE_THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.markFailed(testName);
+        }
+    }
+
     public void initPage() {
-        PLAYWRIGHT_THREAD_LOCAL.set(Playwright.create());
-        BrowserType chromium = createSession(2);
-        BROWSER_THREAD_LOCAL.set(chromium.launch(new BrowserType.LaunchOptions()
-                .setHeadless(true)));
-        BROWSER_CONTEXT_THREAD_LOCAL.set(getBrowser().newContext(new Browser.NewContextOptions().setIgnoreHTTPSErrors(true)
-                .setViewportSize(1920, 1080)));
-        PAGE_THREAD_LOCAL.set(getBrowserContext().newPage());
-        String url = "https://playwright.dev/java/";
-        getPage().navigate(url).finished();
+        initBrowser();
+        PagePrefetcher prefetcher = PREFETCHER_THREAD_LOCAL.get();
+        Page page = prefetcher != null && networkRules.isEmpty() && !ASSET_CACHE ? takePrefetchedPage(prefetcher)
+                : null;
+        if (page == null) {
+            page = newPage(newContextOptions());
+            page.navigate(START_URL).finished();
+        }
+        BROWSER_CONTEXT_THREAD_LOCAL.set(page.context());
+        PAGE_THREAD_LOCAL.set(page);
+    }
+
+    /**
+     * Starts the test authenticated: the context is created from the storage state cached for the key, logging in
+     * with the flow when there is no valid state yet. If the flow reports that the page is not logged in, the state
+     * is invalidated and the user logs in again.
+     *
+     * @param storageStateKey the key of the storage state, e.g. the user role
+     * @param loginFlow       the flow logging the user in
+     */
+    public void initPage(String storageStateKey, LoginFlow loginFlow) {
+        initBrowser();
+        String storageState = STORAGE_STATES.get(storageStateKey, getBrowser(), newContextOptions(), loginFlow);
+        Page page = newPage(newContextOptions().setStorageState(storageState));
+        page.navigate(START_URL).finished();
+
+        if (!loginFlow.isLoggedIn(page)) {
+            page.context().close();
+            STORAGE_STATES.invalidate(storageStateKey, storageState);
+            storageState = STORAGE_STATES.get(storageStateKey, getBrowser(), newContextOptions(), loginFlow);
+            page = newPage(newContextOptions().setStorageState(storageState));
+            page.navigate(START_URL).finished();
+        }
+        BROWSER_CONTEXT_THREAD_LOCAL.set(page.context());
+        PAGE_THREAD_LOCAL.set(page);
+    }
+
+    /**
+     * Ends the test's browser session. In pooled mode ({@code -Dplaywright.factory.browser.pool=true}) only the
+     * context is closed and the browser stays with the worker thread, which queues the preparation of its next page
+     * when prefetching ({@code -Dplaywright.factory.browser.prefetch=true}), in driver thread mode
+     * ({@code -Dplaywright.factory.driver.threads=N}) the browser stays with its driver thread, and in remote mode
+     * ({@code -Dplaywright.factory.remote.endpoints=...}) the connection to the endpoint stays with the worker thread
+     * and the session is handed back to the endpoint. Otherwise the whole Playwright is closed. The context is always
+     * closed first, so a recorded HAR is written, and the trace of the test is stopped before, being exported only if
+     * the test was {@link #markFailed(String) marked as failed}.
+     */
+    public static void closePage() {
+        finishTrace();
+        PooledBrowser pooledBrowser = POOLED_BROWSER_THREAD_LOCAL.get();
+        DriverThread driverThread = DRIVER_THREAD_LOCAL.get();
+        RemoteSession remoteSession = REMOTE_SESSION_THREAD_LOCAL.get();
+        PagePrefetcher prefetcher = PREFETCHER_THREAD_LOCAL.get();
+        if (remoteSession != null) {
+            closeContext();
+            REMOTE_POOL.release(remoteSession);
+        } else if (driverThread != null) {
+            closeContext();
+            DRIVER_SCHEDULER.release(driverThread);
+        } else if (prefetcher != null) {
+            closeContext();
+            prefetcher.fill();
+        } else if (pooledBrowser != null) {
+            closeContext();
+            BROWSER_POOL.release(pooledBrowser);
+        } else if (getPlaywright() != null) {
+            closeContext();
+            getPlaywright().close();
+        }
+        PAGE_THREAD_LOCAL.remove();
+        BROWSER_CONTEXT_THREAD_LOCAL.remove();
+        BROWSER_THREAD_LOCAL.remove();
+        PLAYWRIGHT_THREAD_LOCAL.remove();
+        POOLED_BROWSER_THREAD_LOCAL.remove();
+        DRIVER_THREAD_LOCAL.remove();
+        REMOTE_SESSION_THREAD_LOCAL.remove();
+        TRACE_THREAD_LOCAL.remove();
+    }
+
+    /**
+     * Closes the connections of the current thread to the remote endpoints together with its Playwright driver
+     * ({@code -Dplaywright.factory.remote.endpoints=...}), for threads ending before the JVM. Does nothing in the
+     * other modes.
+     */
+    public static void closeWorker() {
+        if (REMOTE_POOL != null) {
+            REMOTE_POOL.closeWorker();
+        }
     }
 
     @SneakyThrows
@@ -49,4 +192,173 @@ public class BrowserStarter {
         }
         throw new RuntimeException("The session hasn't been created after " + attempts + " attempts");
     }
+
+    private static Browser launchBrowser(Playwright playwright) {
+        return launchBrowser(playwright.chromium());
+    }
+
+    private static Browser launchBrowser(BrowserType browserType) {
+        return browserType.launch(new BrowserType.LaunchOptions()
+                .setHeadless(true));
+    }
+
+    private static Browser.NewContextOptions newContextOptions() {
+        return new Browser.NewContextOptions().setIgnoreHTTPSErrors(true)
+                .setViewportSize(1920, 1080);
+    }
+
+    /**
+     * Creates the page of the test in a new context, with the shared asset cache
+     * ({@code -Dplaywright.factory.asset.cache=true}) and the network rules installed and tracing
+     * ({@code -Dplaywright.factory.trace=true}) started before the first request. A context replaced by a new one, e.g.
+     * when logging in again, takes its trace with it.
+     */
+    private Page newPage(Browser.NewContextOptions options) {
+        BrowserContext context = newContext(options);
+        if (ASSET_CACHE) {
+            StaticAssetCache.shared().install(context);
+        }
+        networkRules.install(context);
+        if (TRACE) {
+            TRACE_THREAD_LOCAL.set(TestTrace.start(context));
+        }
+        return context.newPage();
+    }
+
+    private static BrowserContext newContext(Browser.NewContextOptions options) {
+        PooledBrowser pooledBrowser = POOLED_BROWSER_THREAD_LOCAL.get();
+        RemoteSession remoteSession = REMOTE_SESSION_THREAD_LOCAL.get();
+        try {
+            return getBrowser().newContext(options);
+        } catch (PlaywrightException e) {
+            if (remoteSession != null) {
+                if (!(e instanceof TimeoutError) && remoteSession.getBrowser().isConnected()) {
+                    // Not a connection error, e.g. invalid context options: another endpoint would fail the same way
+                    throw e;
+                }
+                // The endpoint is overloaded or lost its browser, fail over to another endpoint
+                REMOTE_SESSION_THREAD_LOCAL.remove();
+                REMOTE_POOL.fail(remoteSession);
+                initRemoteBrowser();
+                return getBrowser().newContext(options);
+            }
+            if (pooledBrowser == null) {
+                throw e;
+            }
+            // The driver or the browser crashed without being reported as disconnected
+            pooledBrowser.relaunch();
+            PLAYWRIGHT_THREAD_LOCAL.set(pooledBrowser.getPlaywright());
+            BROWSER_THREAD_LOCAL.set(pooledBrowser.getBrowser());
+            return getBrowser().newContext(options);
+        }
+    }
+
+    /**
+     * Takes the page prepared for this test while the previous test of the worker ran
+     * ({@code -Dplaywright.factory.browser.prefetch=true}, pooled mode only). The number of prepared pages is set by
+     * {@code playwright.factory.browser.prefetch.depth}, and {@code playwright.factory.browser.prefetch.navigate=false}
+     * prepares blank pages instead of preloading the start URL.
+     *
+     * @return the prepared page, or null if it could not be used
+     */
+    private static Page takePrefetchedPage(PagePrefetcher prefetcher) {
+        try {
+            Page page = prefetcher.take();
+            if (page.url().equals("about:blank")) {
+                page.navigate(START_URL).finished();
+            }
+            return page;
+        } catch (PlaywrightException e) {
+            prefetcher.discard();
+            return null;
+        }
+    }
+
+    private static void initBrowser() {
+        if (REMOTE_POOL != null) {
+            initRemoteBrowser();
+        } else if (DRIVER_SCHEDULER != null) {
+            initDriverBrowser();
+        } else if (POOLED) {
+            if (!PREFETCH || !initPrefetchingBrowser()) {
+                initPooledBrowser();
+            }
+        } else {
+            PLAYWRIGHT_THREAD_LOCAL.set(Playwright.create());
+            BROWSER_THREAD_LOCAL.set(launchBrowser(createSession(2)));
+        }
+    }
+
+    private static void initPooledBrowser() {
+        PooledBrowser pooledBrowser = BROWSER_POOL.acquire();
+        POOLED_BROWSER_THREAD_LOCAL.set(pooledBrowser);
+        PLAYWRIGHT_THREAD_LOCAL.set(pooledBrowser.getPlaywright());
+        BROWSER_THREAD_LOCAL.set(pooledBrowser.getBrowser());
+    }
+
+    /**
+     * Gives the worker a browser owned by its {@link PagePrefetcher}, so the pages of its next tests are prepared on
+     * the prefetcher's thread while the worker runs. The Playwright, browser, context and page of the test are proxies
+     * executing their calls on that thread. At most {@code playwright.factory.browser.pool.size} workers prefetch, the
+     * others get a pooled browser.
+     *
+     * @return false if the worker does not prefetch
+     */
+    private static boolean initPrefetchingBrowser() {
+        PagePrefetcher prefetcher = PREFETCHER_THREAD_LOCAL.get();
+        if (prefetcher == null) {
+            int index = PREFETCHERS.getAndIncrement();
+            if (index >= POOL_SIZE) {
+                PREFETCHERS.decrementAndGet();
+                return false;
+            }
+            String url = Settings.getBoolean("browser.prefetch.navigate", true) ? START_URL : null;
+            prefetcher = new PagePrefetcher(BrowserStarter::launchBrowser, BrowserStarter::newContextOptions, url,
+                    Settings.getInt("browser.prefetch.depth", 1), index);
+            PREFETCHER_THREAD_LOCAL.set(prefetcher);
+        }
+        PLAYWRIGHT_THREAD_LOCAL.set(prefetcher.getPlaywright());
+        BROWSER_THREAD_LOCAL.set(prefetcher.getBrowser());
+        return true;
+    }
+
+    /**
+     * Assigns the test to a driver thread ({@code -Dplaywright.factory.driver.threads=N}). The Playwright, browser,
+     * context and page of the test are proxies executing their calls on the driver thread, so the test can run on any
+     * thread, e.g. on the virtual threads of {@link DriverScheduler#newTestExecutor()}.
+     */
+    private static void initDriverBrowser() {
+        DriverThread driverThread = DRIVER_SCHEDULER.acquire();
+        DRIVER_THREAD_LOCAL.set(driverThread);
+        PLAYWRIGHT_THREAD_LOCAL.set(driverThread.getPlaywright());
+        BROWSER_THREAD_LOCAL.set(driverThread.getBrowser());
+    }
+
+    /**
+     * Starts the test's session on the least loaded remote endpoint ({@code -Dplaywright.factory.remote.endpoints}),
+     * see {@link RemoteBrowserPool}.
+     */
+    private static void initRemoteBrowser() {
+        RemoteSession session = REMOTE_POOL.acquire();
+        REMOTE_SESSION_THREAD_LOCAL.set(session);
+        PLAYWRIGHT_THREAD_LOCAL.set(session.getPlaywright());
+        BROWSER_THREAD_LOCAL.set(session.getBrowser());
+    }
+
+    private static void finishTrace() {
+        TestTrace trace = TRACE_THREAD_LOCAL.get();
+        if (trace != null) {
+            trace.finish();
+        }
+    }
+
+    private static void closeContext() {
+        try {
+            if (getBrowserContext() != null) {
+                getBrowserContext().close();
+            }
+        } catch (PlaywrightException e) {
+            // The browser crashed during the test, it is relaunched on next acquire
+        }
+    }
 }
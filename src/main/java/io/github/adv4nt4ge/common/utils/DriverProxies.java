@@ -0,0 +1,178 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Locator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Proxies of Playwright objects executing every call on the {@link DriverThread} owning the object.
+ * <p>
+ * The Playwright objects returned by a call, directly or in a {@code List} or {@code Map}, are proxied as well, so
+ * the Locators created by the page factory from a proxied Page are proxied too. Proxies passed as arguments, directly
+ * or as the Locators of an options object, are unwrapped before the call. Event handlers and callbacks are called on
+ * the driver thread with the Playwright objects themselves, which must not be kept for use on other threads.
+ */
+final class DriverProxies {
+    private static final String PLAYWRIGHT_PACKAGE = "com.microsoft.playwright.";
+    private static final ClassValue<Class<?>[]> INTERFACES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                collectInterfaces(current, interfaces);
+            }
+            return interfaces.toArray(new Class<?>[0]);
+        }
+    };
+    private static final ClassValue<Field[]> LOCATOR_OPTIONS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return Arrays.stream(type.getFields())
+                    .filter(field -> field.getType() == Locator.class && !Modifier.isStatic(field.getModifiers()))
+                    .toArray(Field[]::new);
+        }
+    };
+
+    private DriverProxies() {
+    }
+
+    /**
+     * Proxies a value returned by a Playwright object of the driver.
+     *
+     * @param <T>    the type of the value
+     * @param value  the value
+     * @param driver the driver thread owning the value
+     * @return the proxy of a Playwright object, a copy of a {@code List} or {@code Map} holding proxies, or the value
+     * itself
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T wrap(T value, DriverThread driver) {
+        if (value == null || isProxy(value)) {
+            return value;
+        }
+        if (value instanceof List) {
+            List<Object> wrapped = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(element -> wrapped.add(wrap(element, driver)));
+            return (T) wrapped;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> wrapped = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, element) -> wrapped.put(key, wrap(element, driver)));
+            return (T) wrapped;
+        }
+        Class<?>[] interfaces = INTERFACES.get(value.getClass());
+        if (interfaces.length == 0) {
+            return value;
+        }
+        return (T) Proxy.newProxyInstance(Locator.class.getClassLoader(), interfaces, new Handler(value, driver));
+    }
+
+    /**
+     * Returns the Playwright object of a proxy.
+     *
+     * @param value the value, proxied or not
+     * @return the Playwright object
+     */
+    static Object unwrap(Object value) {
+        return value != null && isProxy(value) ? ((Handler) Proxy.getInvocationHandler(value)).target : value;
+    }
+
+    /**
+     * @param value the value, proxied or not
+     * @return the driver thread owning a proxy, or null if the value is not a proxy
+     */
+    static DriverThread driverOf(Object value) {
+        return value != null && isProxy(value) ? ((Handler) Proxy.getInvocationHandler(value)).driver : null;
+    }
+
+    private static boolean isProxy(Object value) {
+        return Proxy.isProxyClass(value.getClass()) && Proxy.getInvocationHandler(value) instanceof Handler;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> implemented : type.getInterfaces()) {
+            String name = implemented.getName();
+            if (Modifier.isPublic(implemented.getModifiers()) && name.startsWith(PLAYWRIGHT_PACKAGE)
+                    && !name.startsWith(PLAYWRIGHT_PACKAGE + "impl.")) {
+                interfaces.add(implemented);
+            }
+            collectInterfaces(implemented, interfaces);
+        }
+    }
+
+    private static Object[] unwrapArguments(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] unwrapped = args.clone();
+        for (int i = 0; i < unwrapped.length; i++) {
+            Object arg = unwrapped[i];
+            if (arg == null) {
+                continue;
+            }
+            if (isProxy(arg)) {
+                unwrapped[i] = unwrap(arg);
+            } else if (arg.getClass().getName().startsWith(PLAYWRIGHT_PACKAGE)) {
+                unwrapOptions(arg);
+            }
+        }
+        return unwrapped;
+    }
+
+    private static void unwrapOptions(Object options) {
+        for (Field field : LOCATOR_OPTIONS.get(options.getClass())) {
+            try {
+                Object value = field.get(options);
+                if (value != null && isProxy(value)) {
+                    field.set(options, unwrap(value));
+                }
+            } catch (IllegalAccessException e) {
+                // Public fields of the options classes are always accessible
+            }
+        }
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final Object target;
+        private final DriverThread driver;
+
+        private Handler(Object target, DriverThread driver) {
+            this.target = target;
+            this.driver = driver;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if (method.getName().equals("equals")) {
+                    return args[0] != null && target.equals(unwrap(args[0]));
+                }
+                return method.invoke(target, args);
+            }
+
+            Object[] actualArgs = unwrapArguments(args);
+            return wrap(driver.call(() -> {
+                try {
+                    return method.invoke(target, actualArgs);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw (Exception) e.getCause();
+                }
+            }), driver);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Runs the Playwright drivers of all sessions on a fixed set of {@link DriverThread}s, so the test bodies do not have
+ * to own a driver and can run on any thread, including virtual threads.
+ * <p>
+ * Each session is assigned to the driver thread with the fewest sessions, and creates its context in the browser of
+ * that thread. A driver thread executes the calls of its sessions one at a time, auto-waiting calls included, so a
+ * session waiting for an element would hold up the other sessions of its thread. A driver thread therefore serves at
+ * most {@code sessionsPerThread} sessions at once, 1 by default, and further sessions wait in {@link #acquire()} for a
+ * session to end. More sessions per thread suit tests whose elements are usually ready. The drivers are launched on
+ * first use and closed together with the JVM.
+ * <p>
+ * The sessions of {@code BrowserStarter} are still kept in thread locals: a test body must start and end its session
+ * on the thread running it.
+ */
+public class DriverScheduler {
+    private final List<DriverThread> drivers;
+    private final int sessionsPerThread;
+
+    /**
+     * Constructs a DriverScheduler serving one session at a time per driver thread.
+     *
+     * @param launcher the Function launching a browser with a new Playwright driver
+     * @param size     the number of driver threads
+     */
+    public DriverScheduler(Function<Playwright, Browser> launcher, int size) {
+        this(launcher, size, 1);
+    }
+
+    /**
+     * Constructs a DriverScheduler.
+     *
+     * @param launcher          the Function launching a browser with a new Playwright driver
+     * @param size              the number of driver threads
+     * @param sessionsPerThread the maximum number of sessions sharing a driver thread
+     */
+    public DriverScheduler(Function<Playwright, Browser> launcher, int size, int sessionsPerThread) {
+        if (sessionsPerThread < 1) {
+            throw new IllegalArgumentException("A driver thread must serve at least one session");
+        }
+        this.sessionsPerThread = sessionsPerThread;
+        List<DriverThread> threads = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            threads.add(new DriverThread(launcher, i));
+        }
+        this.drivers = Collections.unmodifiableList(threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> drivers.forEach(DriverThread::close)));
+    }
+
+    /**
+     * Creates an executor running every task on a new virtual thread on Java 21 and later, or on a cached pool of
+     * platform threads before, the library being built for Java 17. Test bodies submitted to it only block on their
+     * driver thread, but on Java 17 each blocked body still holds a platform thread.
+     *
+     * @return the executor of the test bodies
+     */
+    public static ExecutorService newTestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Assigns a session to the least loaded driver thread, waiting until a driver thread serves less than
+     * {@code sessionsPerThread} sessions, and launches its browser when needed.
+     *
+     * @return the driver thread of the session
+     */
+    public DriverThread acquire() {
+        DriverThread driver = reserve();
+        try {
+            driver.start();
+        } catch (RuntimeException e) {
+            release(driver);
+            throw e;
+        }
+        return driver;
+    }
+
+    /**
+     * Ends a session of a driver thread. The contexts of the session must be closed by the caller.
+     *
+     * @param driver the driver thread returned by {@link #acquire()}
+     */
+    public synchronized void release(DriverThread driver) {
+        driver.release();
+        notifyAll();
+    }
+
+    private synchronized DriverThread reserve() {
+        while (true) {
+            DriverThread leastLoaded = drivers.get(0);
+            for (DriverThread driver : drivers) {
+                if (driver.getSessions() < leastLoaded.getSessions()) {
+                    leastLoaded = driver;
+                }
+            }
+            if (leastLoaded.getSessions() < sessionsPerThread) {
+                leastLoaded.reserve();
+                return leastLoaded;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a Playwright driver thread", e);
+            }
+        }
+    }
+
+    /**
+     * @return the driver threads
+     */
+    public List<DriverThread> getDrivers() {
+        return drivers;
+    }
+}
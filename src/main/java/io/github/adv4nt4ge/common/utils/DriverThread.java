@@ -0,0 +1,208 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A platform thread owning one Playwright driver and browser, shared by the sessions assigned to it by the
+ * {@link DriverScheduler}.
+ * <p>
+ * Playwright objects are confined to the thread that created them, so every call on the objects of this driver is
+ * executed by this thread. The objects handed out by {@link #getPlaywright()} and {@link #getBrowser()}, and every
+ * Playwright object they return, are proxies submitting their calls to the thread and waiting for the result. A call
+ * made on the driver thread itself, e.g. from an event handler, is executed directly.
+ * <p>
+ * The Playwright Java API is synchronous, so the thread executes one call at a time, auto-waiting calls such as
+ * {@code click} or {@code waitFor} included: a session waiting for an element holds up the calls of the other sessions
+ * of the thread until the element appears or the Playwright timeout expires. The {@link DriverScheduler} therefore
+ * assigns one session at a time to a thread unless configured otherwise. A caller waits at most
+ * {@code playwright.factory.driver.call.timeout.ms} (2 minutes by default) for its call, queueing included, and then
+ * gets a {@link TimeoutError}.
+ * <p>
+ * Playwright helpers taking the Playwright objects themselves, such as {@code PlaywrightAssertions.assertThat}, fail
+ * with a {@code ClassCastException} on proxies. Run them on the driver thread with {@link #run(Object, Consumer)}.
+ */
+public class DriverThread {
+    private static final long CALL_TIMEOUT_MS = Settings.getLong("driver.call.timeout.ms", 120_000);
+
+    private final Function<Playwright, Browser> launcher;
+    private final ExecutorService executor;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private volatile Thread thread;
+    private PooledBrowser browser;
+
+    DriverThread(Function<Playwright, Browser> launcher, int index) {
+        this(launcher, "playwright-driver-" + index);
+    }
+
+    DriverThread(Function<Playwright, Browser> launcher, String name) {
+        this.launcher = launcher;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread driverThread = new Thread(task, name);
+            driverThread.setDaemon(true);
+            thread = driverThread;
+            return driverThread;
+        });
+    }
+
+    /**
+     * @return a proxy of the Playwright driver, executing its calls on this thread
+     */
+    public Playwright getPlaywright() {
+        return call(() -> DriverProxies.wrap(launch().getPlaywright(), this));
+    }
+
+    /**
+     * @return a proxy of the browser, executing its calls on this thread
+     */
+    public Browser getBrowser() {
+        return call(() -> DriverProxies.wrap(launch().getBrowser(), this));
+    }
+
+    /**
+     * Returns the Playwright object of a proxy, which must only be used on its driver thread.
+     *
+     * @param <T>   the type of the object
+     * @param value the value, proxied or not
+     * @return the Playwright object, or the value itself if it is not a proxy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T value) {
+        return (T) DriverProxies.unwrap(value);
+    }
+
+    /**
+     * Runs an action with the Playwright object of a proxy on its driver thread, e.g.
+     * {@code DriverThread.run(locator, l -> assertThat(l).isVisible())}. The action is run directly with the value
+     * if it is not a proxy.
+     *
+     * @param <T>    the type of the object
+     * @param value  the value, proxied or not
+     * @param action the action to run with the Playwright object
+     */
+    public static <T> void run(T value, Consumer<T> action) {
+        DriverThread driver = DriverProxies.driverOf(value);
+        T target = unwrap(value);
+        if (driver == null) {
+            action.accept(target);
+            return;
+        }
+        driver.call(() -> {
+            action.accept(target);
+            return null;
+        });
+    }
+
+    /**
+     * @return the number of sessions currently assigned to this driver
+     */
+    public int getSessions() {
+        return sessions.get();
+    }
+
+    /**
+     * @return true if the current thread is this driver thread
+     */
+    public boolean isCurrent() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Executes a task on this thread and waits for its result, at most
+     * {@code playwright.factory.driver.call.timeout.ms}. The task is executed directly when called from this thread.
+     * Exceptions of the task are rethrown unchanged.
+     *
+     * @param <T>  the type of the result
+     * @param task the task to execute
+     * @return the result of the task
+     */
+    public <T> T call(Callable<T> task) {
+        try {
+            if (isCurrent()) {
+                return task.call();
+            }
+            Future<T> result = executor.submit(task);
+            try {
+                return result.get(CALL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                result.cancel(false);
+                throw new TimeoutError("The call was not executed by " + thread.getName() + " within "
+                        + CALL_TIMEOUT_MS + " ms, the thread is busy with the calls of " + sessions.get() + " sessions");
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the Playwright driver", e);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Queues a task on this thread without waiting for it. The tasks are executed in order, so a task queued later,
+     * e.g. by {@link #call(Callable)}, runs after it.
+     *
+     * @param task the task to execute
+     */
+    void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Returns the browser itself, launching it on first use and relaunching it after a crash. Only called on the
+     * driver thread.
+     */
+    Browser browser() {
+        return launch().getBrowser();
+    }
+
+    void reserve() {
+        sessions.incrementAndGet();
+    }
+
+    void start() {
+        call(this::launch);
+    }
+
+    void release() {
+        sessions.decrementAndGet();
+    }
+
+    void close() {
+        executor.submit(() -> {
+            if (browser != null) {
+                browser.close();
+                browser = null;
+            }
+        });
+        executor.shutdown();
+    }
+
+    /**
+     * Launches the browser on first use and relaunches it after a crash. Only called on the driver thread.
+     */
+    private PooledBrowser launch() {
+        if (browser == null) {
+            browser = new PooledBrowser(launcher, true);
+        } else if (!browser.isHealthy()) {
+            browser.relaunch();
+        }
+        return browser;
+    }
+}
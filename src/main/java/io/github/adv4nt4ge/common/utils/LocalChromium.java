@@ -0,0 +1,160 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A Chromium process started with a remote debugging port, acting as a remote browser host on the local machine, e.g.
+ * to test {@link RemoteBrowserPool} or to run a browser host on a machine with Java only:
+ * <pre>
+ * try (LocalChromium chromium = LocalChromium.launch()) {
+ *     System.setProperty("playwright.factory.remote.endpoints", chromium.getEndpoint());
+ *     ...
+ * }
+ * </pre>
+ * The Chromium of the Playwright version in use is started headless, with a temporary profile deleted on close.
+ */
+public final class LocalChromium implements AutoCloseable {
+    private static final Pattern DEVTOOLS_URL = Pattern.compile("DevTools listening on (ws://\\S+)");
+
+    private final Process process;
+    private final Path profile;
+    private final String webSocketUrl;
+
+    private LocalChromium(Process process, Path profile, String webSocketUrl) {
+        this.process = process;
+        this.profile = profile;
+        this.webSocketUrl = webSocketUrl;
+    }
+
+    /**
+     * Starts Chromium on a free port, waiting at most 30 seconds for its debugging port to listen.
+     *
+     * @return the started Chromium
+     * @throws PlaywrightException if Chromium could not be started
+     */
+    public static LocalChromium launch() {
+        String executable;
+        try (Playwright playwright = Playwright.create()) {
+            executable = playwright.chromium().executablePath();
+        }
+
+        Path profile = null;
+        Process process = null;
+        try {
+            profile = Files.createTempDirectory("playwright-chromium-");
+            process = new ProcessBuilder(executable, "--headless", "--remote-debugging-port=0",
+                    "--user-data-dir=" + profile, "--no-first-run", "--no-default-browser-check", "about:blank")
+                    .redirectErrorStream(true)
+                    .start();
+            String url = readWebSocketUrl(process).get(30, TimeUnit.SECONDS);
+            if (url == null) {
+                throw new PlaywrightException("Chromium exited before listening, exit code " + process.waitFor());
+            }
+            return new LocalChromium(process, profile, url);
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            destroy(process, profile);
+            throw new PlaywrightException("Unable to start Chromium " + executable, e);
+        } catch (InterruptedException e) {
+            destroy(process, profile);
+            Thread.currentThread().interrupt();
+            throw new PlaywrightException("Interrupted while starting Chromium", e);
+        } catch (RuntimeException e) {
+            destroy(process, profile);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the endpoint to add to {@code playwright.factory.remote.endpoints}, connected with
+     * {@code connectOverCDP}
+     */
+    public String getEndpoint() {
+        return "cdp:" + webSocketUrl;
+    }
+
+    /**
+     * @return the DevTools WebSocket URL of the browser
+     */
+    public String getWebSocketUrl() {
+        return webSocketUrl;
+    }
+
+    /**
+     * @return true while the Chromium process runs
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Stops Chromium and deletes its profile.
+     */
+    @Override
+    public void close() {
+        destroy(process, profile);
+    }
+
+    /**
+     * Reads the output of Chromium until it prints its DevTools URL, and discards the rest of the output, so the
+     * process never blocks on a full pipe.
+     */
+    private static CompletableFuture<String> readWebSocketUrl(Process process) {
+        CompletableFuture<String> url = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    Matcher matcher = DEVTOOLS_URL.matcher(line);
+                    if (matcher.find()) {
+                        url.complete(matcher.group(1));
+                    }
+                }
+                url.complete(null);
+            } catch (IOException e) {
+                url.completeExceptionally(new UncheckedIOException(e));
+            }
+        }, "chromium-output-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+        return url;
+    }
+
+    private static void destroy(Process process, Path profile) {
+        if (process != null) {
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (profile != null) {
+            try (Stream<Path> files = Files.walk(profile)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            } catch (IOException e) {
+                // A temporary directory left behind
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Logs a user in through the UI, so the resulting storage state can be cached by {@link StorageStateCache}.
+ */
+public interface LoginFlow {
+    /**
+     * Logs in on the specified page, which belongs to a new context without any storage state.
+     *
+     * @param page the page to log in on
+     */
+    void logIn(Page page);
+
+    /**
+     * Checks that a page created from a cached storage state is still authenticated. When it is not, the cached
+     * state is considered rejected, it is invalidated and the user logs in again.
+     *
+     * @param page the page navigated to the start URL
+     * @return true if the page is authenticated
+     */
+    default boolean isLoggedIn(Page page) {
+        return true;
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Prepares the contexts and pages of the next tests of a worker while the worker runs JUnit and the test itself.
+ * <p>
+ * Playwright objects are confined to the thread that created them, so the worker's driver and browser are owned by a
+ * {@link DriverThread} of the prefetcher, and the worker uses them through proxies. {@link #fill()} only queues the
+ * preparation on that thread: the contexts and pages are created, and the start URL is loaded, while the worker goes
+ * on. {@link #take()} waits for the queued preparation, if it is not done yet. At most {@code depth} pages are kept,
+ * and pages that are discarded have their context closed. The driver and browser end together with the JVM.
+ */
+public class PagePrefetcher {
+    private final DriverThread driver;
+    private final Supplier<Browser.NewContextOptions> contextOptions;
+    private final String url;
+    private final int depth;
+    // Only used on the driver thread
+    private final Deque<PreparedPage> prepared = new ArrayDeque<>();
+
+    /**
+     * Constructs a PagePrefetcher with its own driver thread. The browser is launched on first use.
+     *
+     * @param launcher       the Function launching a browser with a new Playwright driver
+     * @param contextOptions the Supplier of the options of every new context
+     * @param url            the start URL to preload, or null to only prepare blank pages
+     * @param depth          the maximum number of prepared pages
+     * @param index          the index of the prefetcher, used in the name of its thread
+     */
+    public PagePrefetcher(Function<Playwright, Browser> launcher, Supplier<Browser.NewContextOptions> contextOptions,
+                          String url, int depth, int index) {
+        this.driver = new DriverThread(launcher, "playwright-prefetch-" + index);
+        this.contextOptions = contextOptions;
+        this.url = url;
+        this.depth = depth;
+        Runtime.getRuntime().addShutdownHook(new Thread(driver::close));
+    }
+
+    /**
+     * @return a proxy of the Playwright driver, relaunched with the browser after a crash
+     */
+    public Playwright getPlaywright() {
+        return driver.getPlaywright();
+    }
+
+    /**
+     * @return a proxy of the browser, relaunched after a crash
+     */
+    public Browser getBrowser() {
+        return driver.getBrowser();
+    }
+
+    /**
+     * Takes the oldest prepared page, or prepares one if there is none, and waits until it shows the start URL.
+     *
+     * @return a proxy of a loaded page in its own context
+     */
+    public Page take() {
+        return driver.call(() -> {
+            PreparedPage preparedPage = prepared.poll();
+            if (preparedPage == null) {
+                preparedPage = new PreparedPage(driver.browser().newContext(contextOptions.get()).newPage(), false);
+            }
+
+            try {
+                if (preparedPage.navigating) {
+                    preparedPage.page.waitForLoadState();
+                } else if (url != null) {
+                    preparedPage.page.navigate(url).finished();
+                }
+            } catch (PlaywrightException e) {
+                close(preparedPage);
+                throw e;
+            }
+            return DriverProxies.wrap(preparedPage.page, driver);
+        });
+    }
+
+    /**
+     * Queues the preparation of pages until {@code depth} pages are waiting, and returns without waiting for it.
+     * Errors are not reported, a failed page is simply not prepared and the next test creates its page itself.
+     */
+    public void fill() {
+        driver.submit(() -> {
+            while (prepared.size() < depth) {
+                BrowserContext context = null;
+                try {
+                    context = driver.browser().newContext(contextOptions.get());
+                    Page page = context.newPage();
+                    boolean navigating = false;
+                    if (url != null) {
+                        page.navigate(url, new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT));
+                        navigating = true;
+                    }
+                    prepared.add(new PreparedPage(page, navigating));
+                } catch (PlaywrightException e) {
+                    closeQuietly(context);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Closes the contexts of all prepared pages.
+     */
+    public void discard() {
+        driver.call(() -> {
+            PreparedPage preparedPage;
+            while ((preparedPage = prepared.poll()) != null) {
+                close(preparedPage);
+            }
+            return null;
+        });
+    }
+
+    private static void close(PreparedPage preparedPage) {
+        closeQuietly(preparedPage.page.context());
+    }
+
+    private static void closeQuietly(BrowserContext context) {
+        if (context == null) {
+            return;
+        }
+        try {
+            context.close();
+        } catch (PlaywrightException e) {
+            // The browser is already gone
+        }
+    }
+
+    private static final class PreparedPage {
+        private final Page page;
+        private final boolean navigating;
+
+        private PreparedPage(Page page, boolean navigating) {
+            this.page = page;
+            this.navigating = navigating;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.function.Function;
+
+/**
+ * A Playwright driver and a browser launched by it, reused by the tests of one worker thread.
+ * Like every Playwright object it must only be used by the thread that created it.
+ */
+public class PooledBrowser {
+    private final Function<Playwright, Browser> launcher;
+    private final boolean pooled;
+    private Playwright playwright;
+    private Browser browser;
+    private volatile boolean disconnected;
+
+    PooledBrowser(Function<Playwright, Browser> launcher, boolean pooled) {
+        this.launcher = launcher;
+        this.pooled = pooled;
+        launch();
+    }
+
+    public Playwright getPlaywright() {
+        return playwright;
+    }
+
+    public Browser getBrowser() {
+        return browser;
+    }
+
+    /**
+     * @return false if the browser is kept only for the current test because the pool is full
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * @return true if the browser is still connected and can create new contexts
+     */
+    public boolean isHealthy() {
+        return !disconnected && browser.isConnected();
+    }
+
+    /**
+     * Closes the crashed or disconnected browser together with its driver and launches a new one.
+     */
+    public void relaunch() {
+        close();
+        launch();
+    }
+
+    /**
+     * Closes the browser and its driver, ignoring errors of an already crashed driver.
+     */
+    public void close() {
+        try {
+            playwright.close();
+        } catch (PlaywrightException e) {
+            // The driver is already gone
+        }
+    }
+
+    private void launch() {
+        disconnected = false;
+        playwright = Playwright.create();
+        try {
+            browser = launcher.apply(playwright);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+        browser.onDisconnected(closed -> disconnected = true);
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads the browser sessions of the tests over remote browser hosts, so the parallelism of one JVM is not bound by
+ * the CPU and memory of its machine ({@code -Dplaywright.factory.remote.endpoints=ws://host1:3000/,http://host2:9222}).
+ * <p>
+ * Each session goes to the least loaded endpoint, the endpoint with the lowest share of its sessions in use. An
+ * endpoint accepts at most {@code playwright.factory.remote.max.sessions} sessions at once (4 by default), or the
+ * number set by its {@code |N} suffix, see {@link RemoteEndpoint}. When every endpoint is full, a test waits for a
+ * session to end, at most {@code playwright.factory.remote.acquire.timeout.ms} (5 minutes by default).
+ * <p>
+ * An endpoint that fails to connect or to create a context is skipped for
+ * {@code playwright.factory.remote.retry.ms} (30 seconds by default) and the session fails over to another endpoint.
+ * Every worker thread has its own Playwright driver and keeps its connection to each endpoint for the next tests,
+ * until {@link #closeWorker()} is called on the thread. The drivers still open when the JVM exits are closed, with
+ * their connections, by a shutdown hook.
+ */
+public class RemoteBrowserPool {
+    private final List<RemoteEndpoint> endpoints;
+    private final long retryMillis;
+    private final long acquireTimeoutMillis;
+    private final ThreadLocal<Playwright> workerPlaywright = new ThreadLocal<>();
+    private final ThreadLocal<Map<RemoteEndpoint, Browser>> workerBrowsers = ThreadLocal.withInitial(HashMap::new);
+    private final Set<Playwright> drivers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a RemoteBrowserPool.
+     *
+     * @param endpoints            the endpoints to spread the sessions over
+     * @param retryMillis          the time a failed endpoint is skipped for
+     * @param acquireTimeoutMillis the maximum time to wait for a free session
+     */
+    public RemoteBrowserPool(List<RemoteEndpoint> endpoints, long retryMillis, long acquireTimeoutMillis) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one remote endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.retryMillis = retryMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> drivers.forEach(RemoteBrowserPool::close)));
+    }
+
+    /**
+     * Creates the pool of the {@code playwright.factory.remote.*} properties.
+     *
+     * @return the pool, or null if no endpoint is set
+     */
+    public static RemoteBrowserPool fromSettings() {
+        List<RemoteEndpoint> endpoints = RemoteEndpoint.parse(Settings.getString("remote.endpoints", ""),
+                Settings.getInt("remote.max.sessions", 4));
+        if (endpoints.isEmpty()) {
+            return null;
+        }
+        return new RemoteBrowserPool(endpoints, Settings.getLong("remote.retry.ms", 30_000),
+                Settings.getLong("remote.acquire.timeout.ms", 300_000));
+    }
+
+    public List<RemoteEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Starts a session on the least loaded endpoint, waiting for a free session if all endpoints are full, and
+     * failing over to the next endpoint if the connection fails.
+     *
+     * @return the session, connected to its endpoint
+     * @throws PlaywrightException if no endpoint accepted the session before the timeout
+     */
+    public RemoteSession acquire() {
+        long deadline = System.currentTimeMillis() + acquireTimeoutMillis;
+        PlaywrightException lastFailure = null;
+        while (true) {
+            RemoteEndpoint endpoint = reserve(deadline);
+            if (endpoint == null) {
+                String message = "No remote browser endpoint accepted a session within " + acquireTimeoutMillis
+                        + " ms, endpoints: " + endpoints;
+                throw lastFailure == null ? new PlaywrightException(message)
+                        : new PlaywrightException(message, lastFailure);
+            }
+            Playwright playwright;
+            try {
+                playwright = getPlaywright();
+            } catch (RuntimeException e) {
+                release(endpoint);
+                throw e;
+            }
+            try {
+                return new RemoteSession(endpoint, playwright, connect(endpoint));
+            } catch (PlaywrightException e) {
+                lastFailure = e;
+                markDown(endpoint);
+                release(endpoint);
+            }
+        }
+    }
+
+    /**
+     * Ends a session. The contexts of the session must be closed by the caller, the connection is kept for the next
+     * sessions of the thread.
+     *
+     * @param session the session returned by {@link #acquire()}
+     */
+    public void release(RemoteSession session) {
+        release(session.getEndpoint());
+    }
+
+    /**
+     * Ends a session whose endpoint failed, e.g. when it could not create a context, skipping the endpoint for a
+     * while.
+     *
+     * @param session the session returned by {@link #acquire()}
+     */
+    public void fail(RemoteSession session) {
+        markDown(session.getEndpoint());
+        Browser browser = workerBrowsers.get().remove(session.getEndpoint());
+        if (browser != null) {
+            try {
+                browser.close();
+            } catch (PlaywrightException e) {
+                // The connection is already lost
+            }
+        }
+        release(session.getEndpoint());
+    }
+
+    /**
+     * Closes the connections and the Playwright driver of the current thread, e.g. when a worker thread ends before
+     * the JVM.
+     */
+    public void closeWorker() {
+        Playwright playwright = workerPlaywright.get();
+        workerPlaywright.remove();
+        workerBrowsers.remove();
+        if (playwright != null) {
+            drivers.remove(playwright);
+            close(playwright);
+        }
+    }
+
+    /**
+     * Takes a session of the least loaded endpoint that is up and not full, waiting for one until the deadline.
+     *
+     * @return the endpoint, or null if the deadline passed
+     */
+    private synchronized RemoteEndpoint reserve(long deadline) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            RemoteEndpoint leastLoaded = null;
+            for (RemoteEndpoint endpoint : endpoints) {
+                if (now >= endpoint.getDownUntil() && endpoint.getSessions() < endpoint.getMaxSessions()
+                        && (leastLoaded == null || endpoint.getLoad() < leastLoaded.getLoad())) {
+                    leastLoaded = endpoint;
+                }
+            }
+            if (leastLoaded != null && leastLoaded.tryAcquire(now)) {
+                return leastLoaded;
+            }
+            if (now >= deadline) {
+                return null;
+            }
+
+            long wait = deadline - now;
+            for (RemoteEndpoint endpoint : endpoints) {
+                if (endpoint.getDownUntil() > now) {
+                    wait = Math.min(wait, endpoint.getDownUntil() - now);
+                }
+            }
+            try {
+                wait(Math.max(1, wait));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PlaywrightException("Interrupted while waiting for a remote browser session", e);
+            }
+        }
+    }
+
+    private synchronized void release(RemoteEndpoint endpoint) {
+        endpoint.release();
+        notifyAll();
+    }
+
+    private void markDown(RemoteEndpoint endpoint) {
+        endpoint.markDown(System.currentTimeMillis() + retryMillis);
+    }
+
+    private Playwright getPlaywright() {
+        Playwright playwright = workerPlaywright.get();
+        if (playwright == null) {
+            playwright = Playwright.create();
+            workerPlaywright.set(playwright);
+            drivers.add(playwright);
+        }
+        return playwright;
+    }
+
+    private static void close(Playwright playwright) {
+        try {
+            playwright.close();
+        } catch (PlaywrightException e) {
+            // The driver is already gone
+        }
+    }
+
+    /**
+     * Returns the connection of the current thread to the endpoint, connecting again if it was lost.
+     */
+    private Browser connect(RemoteEndpoint endpoint) {
+        Map<RemoteEndpoint, Browser> browsers = workerBrowsers.get();
+        Browser browser = browsers.get(endpoint);
+        if (browser == null || !browser.isConnected()) {
+            browser = endpoint.connect(getPlaywright());
+            browsers.put(endpoint, browser);
+        }
+        return browser;
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A browser host tests connect to instead of launching a local browser, see {@link RemoteBrowserPool}.
+ * <p>
+ * An endpoint is written as its URL, optionally followed by {@code |N} to accept at most N sessions at once:
+ * <ul>
+ *     <li>{@code ws://host:3000/} or {@code wss://...} connects to a Playwright server with {@code connect},</li>
+ *     <li>{@code http://host:9222} or {@code cdp:ws://host:9222/devtools/browser/...} connects to a Chromium
+ *     remote debugging port with {@code connectOverCDP}.</li>
+ * </ul>
+ */
+public final class RemoteEndpoint {
+    private static final String CDP_PREFIX = "cdp:";
+    private static final double CONNECT_TIMEOUT_MS = Settings.getLong("remote.connect.timeout.ms", 30_000);
+
+    /**
+     * The protocol used to connect to an endpoint.
+     */
+    public enum Protocol {
+        /**
+         * The Playwright protocol, spoken by {@code playwright run-server}.
+         */
+        PLAYWRIGHT,
+        /**
+         * The Chrome DevTools Protocol, spoken by Chromium started with {@code --remote-debugging-port}.
+         */
+        CDP
+    }
+
+    private final String url;
+    private final Protocol protocol;
+    private final int maxSessions;
+    private int sessions;
+    private long downUntil;
+
+    /**
+     * Constructs a RemoteEndpoint.
+     *
+     * @param url         the URL to connect to
+     * @param protocol    the protocol of the endpoint
+     * @param maxSessions the maximum number of sessions running at once on the endpoint
+     */
+    public RemoteEndpoint(String url, Protocol protocol, int maxSessions) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("The endpoint " + url + " must accept at least one session");
+        }
+        this.url = url;
+        this.protocol = protocol;
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Parses a comma separated list of endpoints, e.g. {@code ws://host1:3000/|8,http://host2:9222}.
+     *
+     * @param endpoints          the endpoints
+     * @param defaultMaxSessions the maximum number of sessions of the endpoints without {@code |N}
+     * @return the endpoints, in the order of the list
+     * @throws IllegalArgumentException if an endpoint is not a ws, wss, http, https or cdp URL
+     */
+    public static List<RemoteEndpoint> parse(String endpoints, int defaultMaxSessions) {
+        List<RemoteEndpoint> parsed = new ArrayList<>();
+        for (String endpoint : endpoints.split(",")) {
+            String url = endpoint.trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            int maxSessions = defaultMaxSessions;
+            int separator = url.lastIndexOf('|');
+            if (separator >= 0) {
+                try {
+                    maxSessions = Integer.parseInt(url.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number of sessions of the endpoint " + url);
+                }
+                url = url.substring(0, separator).trim();
+            }
+
+            if (url.startsWith(CDP_PREFIX)) {
+                parsed.add(new RemoteEndpoint(url.substring(CDP_PREFIX.length()), Protocol.CDP, maxSessions));
+            } else if (url.startsWith("ws://") || url.startsWith("wss://")) {
+                parsed.add(new RemoteEndpoint(url, Protocol.PLAYWRIGHT, maxSessions));
+            } else if (url.startsWith("http://") || url.startsWith("https://")) {
+                parsed.add(new RemoteEndpoint(url, Protocol.CDP, maxSessions));
+            } else {
+                throw new IllegalArgumentException("Unsupported endpoint " + url
+                        + ", expected a ws://, wss://, http://, https:// or cdp: URL");
+            }
+        }
+        return parsed;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * @return the number of sessions running on the endpoint
+     */
+    public synchronized int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Connects to the browser of the endpoint, failing after {@code playwright.factory.remote.connect.timeout.ms}
+     * (30 seconds by default) so an unreachable host is marked down instead of blocking the test.
+     *
+     * @param playwright the Playwright driver of the calling thread
+     * @return the connected browser
+     */
+    Browser connect(Playwright playwright) {
+        return protocol == Protocol.CDP
+                ? playwright.chromium().connectOverCDP(url,
+                new BrowserType.ConnectOverCDPOptions().setTimeout(CONNECT_TIMEOUT_MS))
+                : playwright.chromium().connect(url, new BrowserType.ConnectOptions().setTimeout(CONNECT_TIMEOUT_MS));
+    }
+
+    /**
+     * @return the share of the sessions of the endpoint in use, used to pick the least loaded endpoint
+     */
+    synchronized double getLoad() {
+        return (double) sessions / maxSessions;
+    }
+
+    /**
+     * Takes a session of the endpoint if it is up and not full.
+     *
+     * @param now the current time in milliseconds
+     * @return true if the session was taken
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (now < downUntil || sessions >= maxSessions) {
+            return false;
+        }
+        sessions++;
+        return true;
+    }
+
+    synchronized void release() {
+        sessions--;
+    }
+
+    /**
+     * Stops giving sessions to the endpoint for a while, after it failed to connect or to create a context.
+     *
+     * @param until the time in milliseconds the endpoint is tried again at
+     */
+    synchronized void markDown(long until) {
+        downUntil = until;
+    }
+
+    /**
+     * @return the time in milliseconds the endpoint is tried again at, in the past if it is up
+     */
+    synchronized long getDownUntil() {
+        return downUntil;
+    }
+
+    @Override
+    public String toString() {
+        return (protocol == Protocol.CDP && url.startsWith("ws") ? CDP_PREFIX : "") + url + "|" + maxSessions;
+    }
+}
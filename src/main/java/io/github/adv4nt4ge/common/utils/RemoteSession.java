@@ -0,0 +1,32 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * A session of a test on a {@link RemoteEndpoint}: the browser connected to the endpoint by the Playwright driver of
+ * the test's thread. Like every Playwright object it must only be used by that thread.
+ */
+public class RemoteSession {
+    private final RemoteEndpoint endpoint;
+    private final Playwright playwright;
+    private final Browser browser;
+
+    RemoteSession(RemoteEndpoint endpoint, Playwright playwright, Browser browser) {
+        this.endpoint = endpoint;
+        this.playwright = playwright;
+        this.browser = browser;
+    }
+
+    public RemoteEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public Playwright getPlaywright() {
+        return playwright;
+    }
+
+    public Browser getBrowser() {
+        return browser;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.adv4nt4ge.common.utils;
+
+/**
+ * Reads the configuration of the framework from system properties prefixed with {@code playwright.factory.},
+ * e.g. {@code -Dplaywright.factory.browser.pool=true}.
+ */
+public final class Settings {
+    private static final String PREFIX = "playwright.factory.";
+
+    private Settings() {
+    }
+
+    public static String getString(String name, String defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String name, long defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public static double getDouble(String name, double defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.adv4nt4ge.common.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the storage state (cookies and local storage) of logged-in contexts per key, e.g. per user role, so new
+ * contexts can start authenticated instead of logging in through the UI in every test.
+ * <p>
+ * States are kept in memory and in {@code playwright.factory.storage.state.dir} ({@code target/storage-state} by
+ * default) for {@code playwright.factory.storage.state.ttl} seconds (30 minutes by default). Refreshing a state holds
+ * a lock per key, in the JVM and on the disk, so parallel workers wait for a single login instead of all logging in.
+ * The stored states hold the session cookies in plaintext.
+ */
+public class StorageStateCache {
+    private final Path directory;
+    private final Duration ttl;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a StorageStateCache.
+     *
+     * @param directory the directory to store the states in
+     * @param ttl       how long a state stays valid
+     */
+    public StorageStateCache(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Constructs a StorageStateCache configured by the {@code playwright.factory.storage.state.*} properties.
+     */
+    public StorageStateCache() {
+        this(Paths.get(Settings.getString("storage.state.dir", "target/storage-state")),
+                Duration.ofSeconds(Settings.getLong("storage.state.ttl", 1800)));
+    }
+
+    /**
+     * Returns the cached state of the key, logging in with the specified flow when there is no valid one.
+     *
+     * @param key            the key of the state, e.g. the user role
+     * @param browser        the browser to log in with
+     * @param contextOptions the options of the context to log in with
+     * @param loginFlow      the flow logging the user in
+     * @return the storage state as JSON
+     */
+    public String get(String key, Browser browser, Browser.NewContextOptions contextOptions, LoginFlow loginFlow) {
+        State state = states.get(key);
+        if (state != null && state.isValid(ttl)) {
+            return state.json;
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            FileLock fileLock = lockFile(key);
+            try {
+                state = states.get(key);
+                if (state == null || !state.isValid(ttl)) {
+                    state = readFile(key);
+                }
+                if (state == null || !state.isValid(ttl)) {
+                    state = new State(logIn(browser, contextOptions, loginFlow), System.currentTimeMillis());
+                    writeFile(key, state);
+                }
+                states.put(key, state);
+                return state.json;
+            } finally {
+                fileLock.channel().close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to access the storage state " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates the state of the key after it was rejected by the application. A state that was refreshed by
+     * another worker in the meantime is kept.
+     *
+     * @param key      the key of the state
+     * @param rejected the rejected state as JSON
+     */
+    public void invalidate(String key, String rejected) {
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            FileLock fileLock = lockFile(key);
+            try {
+                State state = states.get(key);
+                if (state != null && state.json.equals(rejected)) {
+                    states.remove(key);
+                }
+                State stored = readFile(key);
+                if (stored != null && stored.json.equals(rejected)) {
+                    Files.deleteIfExists(stateFile(key));
+                }
+            } finally {
+                fileLock.channel().close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to access the storage state " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String logIn(Browser browser, Browser.NewContextOptions contextOptions, LoginFlow loginFlow) {
+        BrowserContext context = browser.newContext(contextOptions);
+        try {
+            loginFlow.logIn(context.newPage());
+            return context.storageState();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Locks the lock file of the key, for the workers of other JVMs. Closing the channel of the lock releases it.
+     */
+    private FileLock lockFile(String key) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(key) + ".lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            return channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private State readFile(String key) throws IOException {
+        Path file = stateFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return new State(Files.readString(file, StandardCharsets.UTF_8), Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private void writeFile(String key, State state) throws IOException {
+        Path temporary = directory.resolve(fileName(key) + ".tmp");
+        Files.writeString(temporary, state.json, StandardCharsets.UTF_8);
+        Files.move(temporary, stateFile(key), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path stateFile(String key) {
+        return directory.resolve(fileName(key) + ".json");
+    }
+
+    /**
+     * Encodes the key into a file name, distinct keys getting distinct names, so two keys never share a lock file.
+     */
+    private static String fileName(String key) {
+        return URLEncoder.encode(key, StandardCharsets.UTF_8).replace("*", "%2A");
+    }
+
+    private static final class State {
+        private final String json;
+        private final long createdAt;
+
+        private State(String json, long createdAt) {
+            this.json = json;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isValid(Duration ttl) {
+            return System.currentTimeMillis() - createdAt < ttl.toMillis();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.adv4nt4ge.common.tests;
+
+import io.github.adv4nt4ge.common.tracing.EventRingBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class EventRingBufferTests {
+
+    @Test
+    public void keepsEventsInOrder() {
+        EventRingBuffer events = new EventRingBuffer(3);
+        events.record("console.log", "first");
+        events.record("pageerror", "second");
+
+        Assertions.assertEquals(List.of("[console.log] first", "[pageerror] second"), messages(events));
+        Assertions.assertEquals(0, events.getDropped());
+    }
+
+    @Test
+    public void dropsOldestEventsWhenFull() {
+        EventRingBuffer events = new EventRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            events.record("navigated", "page-" + i);
+        }
+
+        Assertions.assertEquals(List.of("[navigated] page-3", "[navigated] page-4", "[navigated] page-5"),
+                messages(events));
+        Assertions.assertEquals(2, events.getDropped());
+    }
+
+    @Test
+    public void keepsAtLeastOneEvent() {
+        EventRingBuffer events = new EventRingBuffer(0);
+        events.record("crash", "first");
+        events.record("crash", "second");
+
+        Assertions.assertEquals(List.of("[crash] second"), messages(events));
+        Assertions.assertEquals(1, events.getDropped());
+    }
+
+    /**
+     * @return the events without their timestamp
+     */
+    private static List<String> messages(EventRingBuffer events) {
+        return events.snapshot().stream()
+                .map(event -> event.substring(event.indexOf(' ') + 1))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.FieldAccessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class FieldAccessorTests {
+
+    public static class BasePage {
+        private Locator header;
+    }
+
+    public static class SearchPage extends BasePage {
+        private List<Locator> results;
+        private String[] terms;
+        private int page;
+        private final Locator footer = null;
+    }
+
+    @Test
+    public void generatesAccessorsOfReferenceFields() throws Exception {
+        SearchPage searchPage = new SearchPage();
+        FieldAccessor header = FieldAccessor.of(BasePage.class.getDeclaredField("header"));
+        FieldAccessor results = FieldAccessor.of(SearchPage.class.getDeclaredField("results"));
+        FieldAccessor terms = FieldAccessor.of(SearchPage.class.getDeclaredField("terms"));
+
+        Assertions.assertTrue(header.getClass().isHidden(), header.getClass().getName());
+        Assertions.assertTrue(terms.getClass().isHidden(), terms.getClass().getName());
+
+        results.set(searchPage, List.of());
+        terms.set(searchPage, new String[]{"playwright"});
+        Assertions.assertEquals(List.of(), results.get(searchPage));
+        Assertions.assertArrayEquals(new String[]{"playwright"}, (String[]) terms.get(searchPage));
+        Assertions.assertNull(header.get(searchPage));
+        Assertions.assertThrows(ClassCastException.class, () -> results.set(searchPage, "results"));
+        Assertions.assertThrows(ClassCastException.class, () -> header.get(new Object()));
+    }
+
+    @Test
+    public void fallsBackForPrimitiveAndFinalFields() throws Exception {
+        SearchPage searchPage = new SearchPage();
+        FieldAccessor page = FieldAccessor.of(SearchPage.class.getDeclaredField("page"));
+        FieldAccessor footer = FieldAccessor.of(SearchPage.class.getDeclaredField("footer"));
+
+        Assertions.assertFalse(page.getClass().isHidden());
+        Assertions.assertFalse(footer.getClass().isHidden());
+        page.set(searchPage, 2);
+        Assertions.assertEquals(2, page.get(searchPage));
+        Assertions.assertNull(footer.get(searchPage));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.PageBlueprint;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.annotations.Frame;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidParentLocatorException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class FrameScopeTests {
+
+    @Frame(frame = "#outer")
+    public static class FramedPage {
+        @FindBy(locator = "form")
+        public Locator form;
+
+        @Frame(frame = {"#outer", "#inner"})
+        @FindBy(locator = "input")
+        public Locator input;
+
+        @Parent("form")
+        @FindBy(locator = "button")
+        public Locator submit;
+
+        @Parent("input")
+        @FindBy(locator = "span")
+        public Locator hint;
+    }
+
+    public static class PlainPage {
+        @Frame(frame = "#editor")
+        @FindBy(locator = "textarea")
+        public Locator editor;
+
+        @Parent("editor")
+        @FindBy(locator = "p")
+        public Locator paragraph;
+    }
+
+    public static class OutOfFramePage {
+        @Frame(frame = "#left")
+        @FindBy(locator = "nav")
+        public Locator nav;
+
+        @Frame(frame = "#right")
+        @Parent("nav")
+        @FindBy(locator = "a")
+        public Locator link;
+    }
+
+    @Test
+    public void resolvesFrameScopes() {
+        PageBlueprint blueprint = PageBlueprint.of(FramedPage.class);
+
+        Assertions.assertEquals(List.of("#outer"), blueprint.getField("form").getFrameScope());
+        Assertions.assertEquals(List.of("#outer", "#inner"), blueprint.getField("input").getFrameScope());
+        Assertions.assertEquals(List.of("#outer"), blueprint.getField("submit").getFrameScope());
+        Assertions.assertEquals(List.of("#outer", "#inner"), blueprint.getField("hint").getFrameScope());
+        Assertions.assertTrue(blueprint.getField("input").hasFieldFrame());
+        Assertions.assertFalse(blueprint.getField("hint").hasFieldFrame());
+    }
+
+    @Test
+    public void placesChildInFramesOfItsParent() {
+        PageBlueprint blueprint = PageBlueprint.of(PlainPage.class);
+
+        Assertions.assertEquals(List.of("#editor"), blueprint.getField("paragraph").getFrameScope());
+    }
+
+    @Test
+    public void reportsFrameOutsideParentFrames() {
+        InvalidParentLocatorException e = Assertions.assertThrows(InvalidParentLocatorException.class,
+                () -> PageBlueprint.of(OutOfFramePage.class));
+
+        Assertions.assertTrue(e.getMessage().contains("link (@Frame [#right], @Parent(\"nav\") @Frame [#left])"),
+                e.getMessage());
+    }
+}
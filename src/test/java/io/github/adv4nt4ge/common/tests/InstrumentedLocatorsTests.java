@@ -0,0 +1,40 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.metrics.InstrumentedLocators;
+import io.github.adv4nt4ge.common.page.factory.metrics.LocatorMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class InstrumentedLocatorsTests {
+
+    public static class LoginPage {
+    }
+
+    @Test
+    public void recordsActionsAfterReset() {
+        Locator submit = InstrumentedLocators.wrap(Stubs.stub(Locator.class, "submit", Map.of("click", args -> null)),
+                LoginPage.class, "submit");
+
+        submit.click();
+        Assertions.assertEquals(1, LocatorMetrics.getHistogram(LoginPage.class, "submit", "click").getCount());
+
+        LocatorMetrics.reset();
+        Assertions.assertNull(LocatorMetrics.getHistogram(LoginPage.class, "submit", "click"));
+
+        submit.click();
+        Assertions.assertEquals(1, LocatorMetrics.getHistogram(LoginPage.class, "submit", "click").getCount());
+    }
+
+    @Test
+    public void unwrapsInstrumentedLocators() {
+        Locator target = Stubs.stub(Locator.class, "target", Map.of());
+        Locator instrumented = InstrumentedLocators.wrap(target, LoginPage.class, "target");
+
+        Assertions.assertTrue(InstrumentedLocators.isInstrumented(instrumented));
+        Assertions.assertSame(target, InstrumentedLocators.unwrap(instrumented));
+        Assertions.assertSame(instrumented, InstrumentedLocators.wrap(instrumented, LoginPage.class, "target"));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.LazyElementList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LazyElementListTests {
+
+    @Test
+    public void queriesOnFirstAccessOnly() {
+        AtomicInteger queries = new AtomicInteger();
+        LazyElementList<String> list = new LazyElementList<>(null, locator -> {
+            queries.incrementAndGet();
+            return List.of("first", "second");
+        });
+
+        Assertions.assertFalse(list.isResolved());
+        Assertions.assertEquals(0, queries.get());
+        Assertions.assertEquals("second", list.get(1));
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertTrue(list.isResolved());
+        Assertions.assertEquals(1, queries.get());
+    }
+
+    @Test
+    public void queriesAgainAfterInvalidateAndRefresh() {
+        AtomicInteger queries = new AtomicInteger();
+        LazyElementList<Integer> list = new LazyElementList<>(null, locator -> List.of(queries.incrementAndGet()));
+
+        Assertions.assertEquals(1, list.get(0));
+        list.invalidate();
+        Assertions.assertFalse(list.isResolved());
+        Assertions.assertEquals(1, queries.get());
+        Assertions.assertEquals(2, list.get(0));
+
+        list.refresh();
+        Assertions.assertEquals(3, queries.get());
+        Assertions.assertEquals(3, list.get(0));
+    }
+
+    @Test
+    public void resolvesLocatorsOfTheLocator() {
+        Locator row = Stubs.stub(Locator.class, "row", Map.of());
+        Locator rows = Stubs.stub(Locator.class, "rows", Map.of("all", args -> List.of(row, row)));
+
+        LazyElementList<Locator> list = LazyElementList.locators(rows);
+
+        Assertions.assertSame(rows, list.getLocator());
+        Assertions.assertEquals(List.of(row, row), list);
+    }
+
+    @Test
+    public void neverReturnsInvalidatedElementsAsNull() throws Exception {
+        LazyElementList<String> list = new LazyElementList<>(null, locator -> List.of("element"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> invalidating = executor.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    list.invalidate();
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 3; reader++) {
+                readers.add(executor.submit(() -> {
+                    while (!invalidating.isDone()) {
+                        Assertions.assertEquals("element", list.get(0));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+            invalidating.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
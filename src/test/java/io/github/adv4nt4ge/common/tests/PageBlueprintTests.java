@@ -0,0 +1,71 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.FieldBlueprint;
+import io.github.adv4nt4ge.common.page.factory.PageBlueprint;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+public class PageBlueprintTests {
+
+    public static class BasePage {
+        @FindBy(testId = "header")
+        public Locator header;
+
+        public String title;
+    }
+
+    public static class SearchPage extends BasePage {
+        @FindBy(placeholder = "Search")
+        public Locator search;
+
+        @FindBy(locator = ".result")
+        public List<Locator> results;
+
+        public int page;
+    }
+
+    @Test
+    public void cachesBlueprintPerClass() {
+        PageBlueprint blueprint = PageBlueprint.of(SearchPage.class);
+
+        Assertions.assertSame(blueprint, PageBlueprint.of(SearchPage.class));
+        Assertions.assertNotSame(blueprint, PageBlueprint.of(BasePage.class));
+        Assertions.assertSame(SearchPage.class, blueprint.getPageObjectClass());
+    }
+
+    @Test
+    public void sharesBlueprintBetweenThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Callable<PageBlueprint> task = () -> PageBlueprint.of(SearchPage.class);
+            List<Future<PageBlueprint>> blueprints = executor.invokeAll(List.of(task, task, task, task));
+            for (Future<PageBlueprint> blueprint : blueprints) {
+                Assertions.assertSame(PageBlueprint.of(SearchPage.class), blueprint.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void collectsFindByFieldsOfHierarchy() throws Exception {
+        PageBlueprint blueprint = PageBlueprint.of(SearchPage.class);
+
+        Assertions.assertEquals(List.of("header", "search", "results"),
+                blueprint.getFields().stream().map(FieldBlueprint::getName).collect(Collectors.toList()));
+        Assertions.assertSame(blueprint.getField("header"),
+                blueprint.getField(BasePage.class.getDeclaredField("header")));
+        Assertions.assertNull(blueprint.getField("title"));
+        Assertions.assertEquals(Locator.class, blueprint.getField("results").getListElementType());
+        Assertions.assertEquals("PLACEHOLDER=Search", blueprint.getField("search").getStrategy().toString());
+    }
+}
@@ -1,20 +1,15 @@
 package io.github.adv4nt4ge.common.tests;
 
-import io.github.adv4nt4ge.common.BaseTest;
+import io.github.adv4nt4ge.common.junit.PlaywrightExtension;
 import io.github.adv4nt4ge.common.pages.PlaywrightPage;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
-public class PageFactoryTests extends BaseTest {
-    PlaywrightPage playwrightPage;
-
-    @BeforeEach
-    public void setupPreconditions() {
-        playwrightPage = application.getPages(PlaywrightPage.class);
-    }
+@ExtendWith(PlaywrightExtension.class)
+public class PageFactoryTests {
 
     @Test
-    public void checkStartedButtonsTest() {
+    public void checkStartedButtonsTest(PlaywrightPage playwrightPage) {
         playwrightPage.checkIsVisibleStartedButtons()
                 .clickOnGitHubLinkButton()
                 .checkIsVisibleStartedButtons();
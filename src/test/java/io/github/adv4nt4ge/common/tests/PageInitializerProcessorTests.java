@@ -0,0 +1,114 @@
+package io.github.adv4nt4ge.common.tests;
+
+import io.github.adv4nt4ge.common.page.factory.processor.PageInitializerProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class PageInitializerProcessorTests {
+    private static final String IMPORTS = "package pages;\n"
+            + "import com.microsoft.playwright.Locator;\n"
+            + "import io.github.adv4nt4ge.common.page.factory.annotations.*;\n";
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void generatesInitializer() throws Exception {
+        List<String> errors = compile("HomePage", IMPORTS
+                + "public class HomePage {\n"
+                + "    @FindBy(locator = \"table\") public Locator table;\n"
+                + "    @Parent(\"table\") @FindBy(text = \"Total\") public Locator total;\n"
+                + "}\n");
+
+        Assertions.assertEquals(List.of(), errors);
+        String initializer = Files.readString(output.resolve("pages/HomePage_Initializer.java"));
+        Assertions.assertTrue(initializer.indexOf("pageObject.table =") < initializer.indexOf("pageObject.total ="),
+                initializer);
+    }
+
+    @Test
+    public void reportsAmbiguousFindBy() throws Exception {
+        List<String> errors = compile("AmbiguousPage", IMPORTS
+                + "public class AmbiguousPage {\n"
+                + "    @FindBy(testId = \"buy\", locator = \"#buy\") public Locator buy;\n"
+                + "}\n");
+
+        Assertions.assertEquals(List.of("5: Only one attribute of @FindBy can be set, found: testId, locator"), errors);
+    }
+
+    @Test
+    public void reportsParentCycle() throws Exception {
+        List<String> errors = compile("CyclicPage", IMPORTS
+                + "public class CyclicPage {\n"
+                + "    @Parent(\"second\") @FindBy(locator = \"a\") public Locator first;\n"
+                + "    @Parent(\"first\") @FindBy(locator = \"b\") public Locator second;\n"
+                + "}\n");
+
+        Assertions.assertEquals(1, errors.size(), errors.toString());
+        Assertions.assertTrue(errors.get(0).contains("Cycle in @Parent dependencies of pages.CyclicPage"),
+                errors.toString());
+    }
+
+    @Test
+    public void reportsMissingParent() throws Exception {
+        List<String> errors = compile("MissingParentPage", IMPORTS
+                + "public class MissingParentPage {\n"
+                + "    @Parent(\"nowhere\") @FindBy(locator = \"a\") public Locator link;\n"
+                + "}\n");
+
+        Assertions.assertEquals(
+                List.of("5: Unable to find the @Parent \"nowhere\" of field link in pages.MissingParentPage"), errors);
+    }
+
+    @Test
+    public void reportsFrameOutsideParentFrames() throws Exception {
+        List<String> errors = compile("OutOfFramePage", IMPORTS
+                + "public class OutOfFramePage {\n"
+                + "    @Frame(frame = \"#left\") @FindBy(locator = \"nav\") public Locator nav;\n"
+                + "    @Frame(frame = \"#right\") @Parent(\"nav\") @FindBy(locator = \"a\") public Locator link;\n"
+                + "}\n");
+
+        Assertions.assertEquals(List.of("6: The @Frame [#right] of field link must be inside the @Frame [#left] of its"
+                + " @Parent \"nav\""), errors);
+    }
+
+    /**
+     * Compiles a page object with the processor.
+     *
+     * @return the errors, as {@code <line>: <message>}
+     */
+    private List<String> compile(String className, String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path classes = Files.createDirectories(output.resolve("classes"));
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///pages/" + className + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+                "-processor", PageInitializerProcessor.class.getName(),
+                "-s", output.toString(), "-d", classes.toString());
+        compiler.getTask(null, null, diagnostics, options, null, List.of(file)).call();
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getLineNumber() + ": " + diagnostic.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.FieldBlueprint;
+import io.github.adv4nt4ge.common.page.factory.PageBlueprint;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import io.github.adv4nt4ge.common.page.factory.exeptions.InvalidParentLocatorException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ParentResolutionTests {
+
+    public static class BasePage {
+        @Parent("table")
+        @FindBy(locator = "tr")
+        public Locator row;
+
+        @FindBy(testId = "header")
+        public Locator header;
+    }
+
+    public static class OrderedPage extends BasePage {
+        @Parent("row")
+        @FindBy(locator = "td")
+        public Locator cell;
+
+        @FindBy(locator = "table")
+        public Locator table;
+
+        @FindBy(text = "Footer")
+        public Locator footer;
+    }
+
+    public static class CyclicPage {
+        @FindBy(locator = "body")
+        public Locator body;
+
+        @Parent("third")
+        @FindBy(locator = "a")
+        public Locator first;
+
+        @Parent("first")
+        @FindBy(locator = "b")
+        public Locator second;
+
+        @Parent("second")
+        @FindBy(locator = "c")
+        public Locator third;
+    }
+
+    public static class MissingParentPage {
+        @Parent("nowhere")
+        @FindBy(locator = "a")
+        public Locator link;
+    }
+
+    @Test
+    public void ordersParentsBeforeChildren() {
+        List<String> names = PageBlueprint.of(OrderedPage.class).getFields().stream()
+                .map(FieldBlueprint::getName)
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of("table", "row", "header", "cell", "footer"), names);
+    }
+
+    @Test
+    public void reportsParentCycle() {
+        InvalidParentLocatorException e = Assertions.assertThrows(InvalidParentLocatorException.class,
+                () -> PageBlueprint.of(CyclicPage.class));
+
+        Assertions.assertTrue(e.getMessage().contains("Cycle in @Parent dependencies"), e.getMessage());
+        Assertions.assertTrue(e.getMessage().contains("Fields: first -> third -> second -> first"), e.getMessage());
+        Assertions.assertTrue(e.getMessage().contains(CyclicPage.class.getName()), e.getMessage());
+    }
+
+    @Test
+    public void reportsMissingParent() {
+        InvalidParentLocatorException e = Assertions.assertThrows(InvalidParentLocatorException.class,
+                () -> PageBlueprint.of(MissingParentPage.class));
+
+        Assertions.assertTrue(e.getMessage().contains("link (@Parent(\"nowhere\"))"), e.getMessage());
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import io.github.adv4nt4ge.common.page.factory.RankedLocator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RankedLocatorTests {
+
+    /**
+     * Locators recording their probes and actions, matching an element while their name is in {@code matching}.
+     */
+    private static final class Browser {
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> matching = ConcurrentHashMap.newKeySet();
+
+        Locator locator(String name, long probeMillis) {
+            return Stubs.stub(Locator.class, name, Map.of(
+                    "count", args -> {
+                        calls.add("count " + name);
+                        sleep(probeMillis);
+                        return matching.contains(name) ? 1 : 0;
+                    },
+                    "click", args -> calls.add("click " + name),
+                    "locator", args -> locator(name + " " + args[0], probeMillis),
+                    "or", args -> locator(name + "|" + args[0], 0),
+                    "first", args -> locator(name + ".first", 0)));
+        }
+
+        List<String> takeCalls() {
+            List<String> taken = List.copyOf(calls);
+            calls.clear();
+            return taken;
+        }
+    }
+
+    @Test
+    public void probesTheUsualMatchFirst() {
+        Browser browser = new Browser();
+        Locator pay = RankedLocator.of(List.of(browser.locator("stale", 5), browser.locator("pay", 0)),
+                keys("probesTheUsualMatchFirst"));
+        browser.matching.add("pay");
+
+        pay.click();
+        Assertions.assertEquals(List.of("count stale", "count pay", "click pay"), browser.takeCalls());
+
+        pay.click();
+        Assertions.assertEquals(List.of("count pay", "click pay"), browser.takeCalls());
+    }
+
+    @Test
+    public void waitsOnFirstElementOfAllAlternativesWithoutRecording() {
+        Browser browser = new Browser();
+        Locator pay = RankedLocator.of(List.of(browser.locator("old", 5), browser.locator("new", 0)),
+                keys("waitsOnFirstElementOfAllAlternativesWithoutRecording"));
+
+        for (int i = 0; i < 3; i++) {
+            pay.click();
+            Assertions.assertEquals(List.of("count old", "count new", "click old|new.first"), browser.takeCalls());
+        }
+
+        // Had the misses been recorded, the faster alternative would now be probed first
+        browser.matching.add("old");
+        pay.click();
+        Assertions.assertEquals(List.of("count old", "click old"), browser.takeCalls());
+    }
+
+    @Test
+    public void keepsStatsOfChainedLocatorsApart() {
+        Browser browser = new Browser();
+        Locator menu = RankedLocator.of(List.of(browser.locator("generic", 5), browser.locator("specific", 0)),
+                keys("keepsStatsOfChainedLocatorsApart"));
+        browser.matching.add("specific");
+        menu.click();
+        browser.takeCalls();
+
+        browser.matching.add("generic a");
+        menu.locator("a").click();
+        Assertions.assertEquals(List.of("count generic a", "click generic a"), browser.takeCalls());
+    }
+
+    @Test
+    public void selectsMatchingAlternative() {
+        Browser browser = new Browser();
+        Locator plain = browser.locator("plain", 0);
+        Locator specific = browser.locator("specific", 0);
+        Locator ranked = RankedLocator.of(List.of(browser.locator("generic", 0), specific),
+                keys("selectsMatchingAlternative"));
+        browser.matching.add("specific");
+
+        Assertions.assertSame(specific, RankedLocator.select(ranked));
+        Assertions.assertSame(plain, RankedLocator.select(plain));
+    }
+
+    /**
+     * Returns keys no earlier run recorded stats under, as the shared stats are kept across runs.
+     */
+    private static List<String> keys(String field) {
+        String owner = RankedLocatorTests.class.getName() + "-" + UUID.randomUUID();
+        return List.of(owner + "#" + field + " LOCATOR=.first", owner + "#" + field + " LOCATOR=.second");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import io.github.adv4nt4ge.common.utils.LocalChromium;
+import io.github.adv4nt4ge.common.utils.RemoteBrowserPool;
+import io.github.adv4nt4ge.common.utils.RemoteEndpoint;
+import io.github.adv4nt4ge.common.utils.RemoteSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RemoteBrowserPoolTests {
+
+    @Test
+    public void spreadsSessionsOverLeastLoadedEndpoints() {
+        try (LocalChromium first = LocalChromium.launch(); LocalChromium second = LocalChromium.launch()) {
+            RemoteBrowserPool pool = new RemoteBrowserPool(
+                    RemoteEndpoint.parse(first.getEndpoint() + "|2," + second.getEndpoint() + "|2", 4), 30_000, 1_000);
+            try {
+                RemoteSession firstSession = pool.acquire();
+                RemoteSession secondSession = pool.acquire();
+                Assertions.assertNotSame(firstSession.getEndpoint(), secondSession.getEndpoint());
+
+                BrowserContext context = secondSession.getBrowser().newContext();
+                Page page = context.newPage();
+                page.setContent("<p>remote</p>");
+                Assertions.assertEquals("remote", page.textContent("p"));
+                context.close();
+
+                pool.release(firstSession);
+                pool.release(secondSession);
+                Assertions.assertEquals(0, firstSession.getEndpoint().getSessions());
+            } finally {
+                pool.closeWorker();
+            }
+        }
+    }
+
+    @Test
+    public void waitsForFreeSessionUntilTimeout() {
+        try (LocalChromium chromium = LocalChromium.launch()) {
+            RemoteBrowserPool pool = new RemoteBrowserPool(RemoteEndpoint.parse(chromium.getEndpoint() + "|1", 4),
+                    30_000, 500);
+            try {
+                RemoteSession session = pool.acquire();
+                Assertions.assertThrows(PlaywrightException.class, pool::acquire);
+
+                pool.release(session);
+                pool.release(pool.acquire());
+            } finally {
+                pool.closeWorker();
+            }
+        }
+    }
+
+    @Test
+    public void failsOverToHealthyEndpoint() {
+        try (LocalChromium healthy = LocalChromium.launch(); LocalChromium stopped = LocalChromium.launch()) {
+            RemoteBrowserPool pool = new RemoteBrowserPool(RemoteEndpoint.parse(
+                    "http://127.0.0.1:1," + stopped.getEndpoint() + "," + healthy.getEndpoint(), 4), 60_000, 10_000);
+            try {
+                RemoteSession session = pool.acquire();
+                Assertions.assertEquals(stopped.getWebSocketUrl(), session.getEndpoint().getUrl());
+                Assertions.assertEquals(0, pool.getEndpoints().get(0).getSessions());
+
+                stopped.close();
+                pool.fail(session);
+                RemoteSession failedOver = pool.acquire();
+                Assertions.assertEquals(healthy.getWebSocketUrl(), failedOver.getEndpoint().getUrl());
+                pool.release(failedOver);
+            } finally {
+                pool.closeWorker();
+            }
+        }
+    }
+}
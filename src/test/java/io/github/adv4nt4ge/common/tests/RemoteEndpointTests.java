@@ -0,0 +1,40 @@
+package io.github.adv4nt4ge.common.tests;
+
+import io.github.adv4nt4ge.common.utils.RemoteEndpoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class RemoteEndpointTests {
+
+    @Test
+    public void parsesProtocolsAndSessions() {
+        List<RemoteEndpoint> endpoints = RemoteEndpoint.parse(
+                " ws://host1:3000/|8, http://host2:9222 ,cdp:ws://host3:9222/devtools/browser/id|2,", 4);
+
+        Assertions.assertEquals(3, endpoints.size());
+        assertEndpoint(endpoints.get(0), "ws://host1:3000/", RemoteEndpoint.Protocol.PLAYWRIGHT, 8);
+        assertEndpoint(endpoints.get(1), "http://host2:9222", RemoteEndpoint.Protocol.CDP, 4);
+        assertEndpoint(endpoints.get(2), "ws://host3:9222/devtools/browser/id", RemoteEndpoint.Protocol.CDP, 2);
+    }
+
+    @Test
+    public void parsesEmptyList() {
+        Assertions.assertEquals(List.of(), RemoteEndpoint.parse("", 4));
+    }
+
+    @Test
+    public void rejectsInvalidEndpoints() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RemoteEndpoint.parse("host1:3000", 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RemoteEndpoint.parse("ws://host1|many", 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RemoteEndpoint.parse("ws://host1|0", 4));
+    }
+
+    private static void assertEndpoint(RemoteEndpoint endpoint, String url, RemoteEndpoint.Protocol protocol,
+                                       int maxSessions) {
+        Assertions.assertEquals(url, endpoint.getUrl());
+        Assertions.assertEquals(protocol, endpoint.getProtocol());
+        Assertions.assertEquals(maxSessions, endpoint.getMaxSessions());
+    }
+}
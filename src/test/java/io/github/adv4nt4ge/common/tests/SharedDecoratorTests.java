@@ -0,0 +1,73 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import io.github.adv4nt4ge.common.page.factory.ElementFieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.FieldBlueprint;
+import io.github.adv4nt4ge.common.page.factory.InstrumentingFieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.LocatorFieldDecorator;
+import io.github.adv4nt4ge.common.page.factory.PageBlueprint;
+import io.github.adv4nt4ge.common.page.factory.annotations.FindBy;
+import io.github.adv4nt4ge.common.page.factory.annotations.Parent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class SharedDecoratorTests {
+
+    public static class TablePage {
+        @FindBy(locator = "table")
+        public Locator table;
+
+        @Parent("table")
+        @FindBy(locator = "tr")
+        public Locator row;
+
+        @FindBy(testId = "header")
+        public Locator header;
+
+        @Parent("row")
+        @FindBy(locator = "td")
+        public Locator cell;
+    }
+
+    @Test
+    public void sharesDecoratorsPerPage() {
+        Page page = Stubs.stub(Page.class, "page", Map.of());
+        Page otherPage = Stubs.stub(Page.class, "other page", Map.of());
+
+        Assertions.assertSame(LocatorFieldDecorator.of(page), LocatorFieldDecorator.of(page));
+        Assertions.assertSame(ElementFieldDecorator.of(page), ElementFieldDecorator.of(page));
+        Assertions.assertSame(InstrumentingFieldDecorator.of(page), InstrumentingFieldDecorator.of(page));
+        Assertions.assertNotSame(LocatorFieldDecorator.of(page), LocatorFieldDecorator.of(otherPage));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dropsDecoratorsWhenPageCloses() {
+        List<Consumer<Page>> closeHandlers = new ArrayList<>();
+        Page page = Stubs.stub(Page.class, "page",
+                Map.of("onClose", args -> closeHandlers.add((Consumer<Page>) args[0])));
+        ElementFieldDecorator decorator = ElementFieldDecorator.of(page);
+        LocatorFieldDecorator.of(page);
+        Assertions.assertEquals(1, closeHandlers.size());
+
+        closeHandlers.get(0).accept(page);
+
+        Assertions.assertNotSame(decorator, ElementFieldDecorator.of(page));
+    }
+
+    @Test
+    public void groupsFieldsWithTheirParents() {
+        List<List<String>> groups = PageBlueprint.of(TablePage.class).getFieldGroups().stream()
+                .map(group -> group.stream().map(FieldBlueprint::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of(List.of("table", "row", "cell"), List.of("header")), groups);
+    }
+}
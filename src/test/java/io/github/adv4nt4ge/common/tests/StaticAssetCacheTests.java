@@ -0,0 +1,179 @@
+package io.github.adv4nt4ge.common.tests;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.github.adv4nt4ge.common.network.CacheRule;
+import io.github.adv4nt4ge.common.network.StaticAssetCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class StaticAssetCacheTests {
+    private static final String SCRIPT = "https://example.com/static/app.js";
+
+    /**
+     * Serves the responses set by the tests to the routes of a context using the cache.
+     */
+    private static final class Server {
+        final StaticAssetCache cache;
+        final List<Map<String, String>> fetches = new ArrayList<>();
+        final List<String> fulfilled = new ArrayList<>();
+        int fallbacks;
+        int status = 200;
+        Map<String, String> headers = Map.of();
+        String body = "console.log(1)";
+        Consumer<Route> handler;
+
+        @SuppressWarnings("unchecked")
+        Server(List<CacheRule> rules) {
+            cache = new StaticAssetCache(1024 * 1024, null, 0, rules, Set.of("script", "stylesheet"));
+            cache.install(Stubs.stub(BrowserContext.class, "context", Map.of("route", args -> {
+                handler = (Consumer<Route>) args[1];
+                return null;
+            })));
+        }
+
+        void request(String url) {
+            request(url, "script", Map.of());
+        }
+
+        void request(String url, String resourceType, Map<String, String> requestHeaders) {
+            Map<String, String> visibleHeaders = requestHeaders.entrySet().stream()
+                    .filter(header -> !header.getKey().equals("cookie"))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            Request request = Stubs.stub(Request.class, url, Map.of(
+                    "url", args -> url,
+                    "method", args -> "GET",
+                    "resourceType", args -> resourceType,
+                    "headers", args -> visibleHeaders,
+                    "allHeaders", args -> requestHeaders));
+            handler.accept(Stubs.stub(Route.class, "route", Map.of(
+                    "request", args -> request,
+                    "fetch", args -> fetch((Route.FetchOptions) args[0]),
+                    "fulfill", args -> fulfilled.add(fulfilledBody((Route.FulfillOptions) args[0])),
+                    "fallback", args -> fallbacks++)));
+        }
+
+        private APIResponse fetch(Route.FetchOptions options) {
+            fetches.add(new HashMap<>(options.headers));
+            int fetchedStatus = status;
+            Map<String, String> fetchedHeaders = headers;
+            byte[] fetchedBody = body.getBytes(StandardCharsets.UTF_8);
+            return Stubs.stub(APIResponse.class, "response", Map.of(
+                    "status", args -> fetchedStatus,
+                    "headers", args -> fetchedHeaders,
+                    "body", args -> fetchedBody));
+        }
+
+        private static String fulfilledBody(Route.FulfillOptions options) {
+            return new String(options.bodyBytes != null ? options.bodyBytes : options.response.body(),
+                    StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void parsesAndMatchesRules() {
+        List<CacheRule> rules = CacheRule.parse("**/*.js=3600, **/api/**=0,**/*.{css,woff2}=headers");
+
+        Assertions.assertEquals("[**/*.js=3600, **/api/**=0, **/*.{css,woff2}=headers]", rules.toString());
+        Assertions.assertTrue(rules.get(0).matches(SCRIPT));
+        Assertions.assertTrue(rules.get(1).matches("https://example.com/api/v1/users"));
+        Assertions.assertTrue(rules.get(2).matches("https://example.com/fonts/inter.woff2"));
+        Assertions.assertFalse(rules.get(2).matches("https://example.com/fonts/inter.ttf"));
+        Assertions.assertEquals(CacheRule.HEADERS, rules.get(2).getTtlSeconds());
+        Assertions.assertFalse(new CacheRule("https://example.com/*.js", 60).matches(SCRIPT));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheRule.parse("**/*.js"));
+    }
+
+    @Test
+    public void servesFreshResponseFromMemory() {
+        Server server = new Server(List.of());
+        server.headers = Map.of("cache-control", "public, max-age=600");
+
+        server.request(SCRIPT);
+        server.request(SCRIPT);
+
+        Assertions.assertEquals(1, server.fetches.size());
+        Assertions.assertEquals(List.of("console.log(1)", "console.log(1)"), server.fulfilled);
+        Assertions.assertEquals(1, server.cache.getHits());
+        Assertions.assertEquals(1, server.cache.getMisses());
+    }
+
+    @Test
+    public void revalidatesStaleResponse() {
+        Server server = new Server(List.of());
+        server.headers = Map.of("cache-control", "no-cache", "etag", "\"v1\"");
+        server.request(SCRIPT);
+
+        server.status = 304;
+        server.headers = Map.of("cache-control", "no-cache");
+        server.body = "";
+        server.request(SCRIPT);
+
+        Assertions.assertEquals(2, server.fetches.size());
+        Assertions.assertEquals("\"v1\"", server.fetches.get(1).get("if-none-match"));
+        Assertions.assertEquals(List.of("console.log(1)", "console.log(1)"), server.fulfilled);
+        Assertions.assertEquals(1, server.cache.getRevalidations());
+    }
+
+    @Test
+    public void neverStoresPrivateOrUncacheableResponses() {
+        for (String cacheControl : List.of("private, max-age=600", "no-store", "")) {
+            Server server = new Server(List.of());
+            server.headers = cacheControl.isEmpty() ? Map.of() : Map.of("cache-control", cacheControl);
+
+            server.request(SCRIPT);
+            server.request(SCRIPT);
+
+            Assertions.assertEquals(2, server.fetches.size(), cacheControl);
+        }
+    }
+
+    @Test
+    public void storesResponsesToCredentialedRequestsOnlyWhenPublic() {
+        Server server = new Server(List.of());
+        server.headers = Map.of("cache-control", "max-age=600");
+        server.request(SCRIPT, "script", Map.of("authorization", "Bearer token"));
+        server.request(SCRIPT, "script", Map.of("cookie", "session=1"));
+        server.request(SCRIPT, "script", Map.of("cookie", "session=1"));
+        Assertions.assertEquals(3, server.fetches.size());
+
+        server.headers = Map.of("cache-control", "public, max-age=600");
+        server.request(SCRIPT, "script", Map.of("authorization", "Bearer token"));
+        server.request(SCRIPT, "script", Map.of("cookie", "session=1"));
+        server.request(SCRIPT, "script", Map.of("cookie", "session=1"));
+        Assertions.assertEquals(5, server.fetches.size());
+    }
+
+    @Test
+    public void appliesFirstMatchingRule() {
+        Server server = new Server(CacheRule.parse("**/static/*.js=600,**/*.js=0"));
+
+        server.request(SCRIPT);
+        server.request(SCRIPT);
+        server.request("https://example.com/api.js");
+
+        Assertions.assertEquals(1, server.fetches.size());
+        Assertions.assertEquals(1, server.fallbacks);
+    }
+
+    @Test
+    public void letsOtherResourceTypesThrough() {
+        Server server = new Server(List.of());
+
+        server.request("https://example.com/", "document", Map.of());
+
+        Assertions.assertEquals(0, server.fetches.size());
+        Assertions.assertEquals(1, server.fallbacks);
+    }
+}
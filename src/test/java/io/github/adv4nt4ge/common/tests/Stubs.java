@@ -0,0 +1,57 @@
+package io.github.adv4nt4ge.common.tests;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stubs of Playwright interfaces, for the tests that need no browser.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Creates a stub answering the named methods with the functions of their arguments. Other methods return null,
+     * zero or false.
+     *
+     * @param type    the stubbed interface
+     * @param name    the name returned by {@code toString()}
+     * @param answers the functions of the arguments, by method name
+     * @return the stub
+     */
+    static <T> T stub(Class<T> type, String name, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return name;
+                        default:
+                            break;
+                    }
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    if (returnType == int.class) {
+                        return 0;
+                    }
+                    if (returnType == long.class) {
+                        return 0L;
+                    }
+                    if (returnType == double.class) {
+                        return 0.0;
+                    }
+                    return null;
+                }));
+    }
+}